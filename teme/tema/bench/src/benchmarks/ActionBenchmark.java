@@ -0,0 +1,105 @@
+package benchmarks;
+
+import actions.Action;
+import fileio.ActionInputData;
+import fileio.Input;
+import fileio.StreamingInputLoader;
+import org.json.simple.parser.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average time of one query or recommendation of a single kind, e.g. the most_viewed
+ * query on movies or the popular recommendation.
+ * <p>
+ * The actions are the ones of that kind found in the tests, optionally with databases
+ * repeated by {@link ScaledInput}. Every one runs on the state its test has just before
+ * it, rebuilt by {@link Replay}, so it sees the views, favorites and ratings added by the
+ * commands before it. They are run in turn, one per invocation; they do not change the
+ * database, so the states are built once. Commands are timed by {@link CommandBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionBenchmark {
+    /**
+     * Kind of the actions: "query:" followed by the object type and the criteria, or
+     * "recommendation:" followed by the type
+     */
+    @Param({"query:actors:average", "query:actors:awards", "query:actors:filter_description",
+            "query:users:num_ratings",
+            "query:movies:ratings", "query:movies:favorite", "query:movies:longest",
+            "query:movies:most_viewed",
+            "query:shows:ratings", "query:shows:favorite", "query:shows:longest",
+            "query:shows:most_viewed",
+            "recommendation:standard", "recommendation:best_unseen",
+            "recommendation:popular", "recommendation:favorite", "recommendation:search"})
+    public String kind;
+    /**
+     * Number of copies of the database of every test
+     */
+    @Param({"1", "10"})
+    public int scale;
+
+    /**
+     * State of its test before every benchmarked action
+     */
+    private final List<Input> inputs = new ArrayList<>();
+    /**
+     * Benchmarked actions
+     */
+    private final List<ActionInputData> actions = new ArrayList<>();
+    /**
+     * Position of the next action to run
+     */
+    private int next;
+
+    /**
+     * Finds the actions of the kind and builds the state each of them runs on
+     * @throws IOException in case of exceptions to reading / writing
+     * @throws ParseException if a test is not valid JSON
+     */
+    @Setup(Level.Trial)
+    public void prepare() throws IOException, ParseException {
+        for (String path : Replay.testsWith(kind, scale)) {
+            List<ActionInputData> testActions = new StreamingInputLoader(path).readData()
+                    .getCommands();
+            for (int i = 0; i < testActions.size(); i++) {
+                if (Replay.kindOf(testActions.get(i)).equals(kind)) {
+                    Input input = Replay.before(path, i);
+                    inputs.add(input);
+                    actions.add(input.getCommands().get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * @return result of the next action
+     */
+    @Benchmark
+    public String run() {
+        int current = next;
+        next = current + 1 == actions.size() ? 0 : current + 1;
+        return Action.act(inputs.get(current), actions.get(current));
+    }
+}
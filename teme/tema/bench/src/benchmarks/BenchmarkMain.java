@@ -0,0 +1,41 @@
+package benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks and saves the report as JSON, so that the reports of two commits
+ * can be compared, e.g. with the JMH visualizer.
+ */
+public final class BenchmarkMain {
+    /**
+     * Report written when no path is given
+     */
+    private static final String DEFAULT_RESULT = "bench/result.json";
+
+    /**
+     * for coding style
+     */
+    private BenchmarkMain() {
+    }
+
+    /**
+     * @param args path of the report and a regular expression selecting the benchmarks,
+     *             both optional
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        String result = args.length > 0 ? args[0] : DEFAULT_RESULT;
+        String include = args.length > 1 ? args[1] : BenchmarkMain.class.getPackageName()
+                + "\\..*Benchmark";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .build();
+        new Runner(options).run();
+    }
+}
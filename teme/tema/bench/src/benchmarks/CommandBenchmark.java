@@ -0,0 +1,124 @@
+package benchmarks;
+
+import actions.Action;
+import fileio.ActionInputData;
+import fileio.Input;
+import fileio.StreamingInputLoader;
+import org.json.simple.parser.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of a batch of the commands of a single type: view, favorite or rating.
+ * <p>
+ * The batch holds the commands of that type found in the tests that succeed when their
+ * test runs, so the timed path is the one adding the view, favorite or rating. Each of
+ * them runs on the state its test has just before it, rebuilt by {@link Replay}. A
+ * command changes its state, so the states are rebuilt before every batch, outside the
+ * measured time. Rebuilding takes milliseconds per command while a command takes
+ * microseconds, so a whole batch is timed at once instead of every command with its own
+ * setup. The batch only depends on the tests, so its times compare across commits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class CommandBenchmark {
+    /**
+     * Start of the result of a command that changed the database
+     */
+    private static final String SUCCESS = "success";
+
+    /**
+     * Kind of the commands
+     */
+    @Param({"command:view", "command:favorite", "command:rating"})
+    public String kind;
+    /**
+     * Number of copies of the database of every test
+     */
+    @Param({"1", "10"})
+    public int scale;
+
+    /**
+     * Test of every benchmarked command
+     */
+    private final List<String> paths = new ArrayList<>();
+    /**
+     * Index of every benchmarked command among the actions of its test
+     */
+    private final List<Integer> positions = new ArrayList<>();
+    /**
+     * Benchmarked commands
+     */
+    private final List<ActionInputData> actions = new ArrayList<>();
+    /**
+     * State every command runs on
+     */
+    private final List<Input> inputs = new ArrayList<>();
+
+    /**
+     * Runs the tests having commands of the kind and keeps the commands that succeed
+     * @throws IOException in case of exceptions to reading / writing
+     * @throws ParseException if a test is not valid JSON
+     */
+    @Setup(Level.Trial)
+    public void prepare() throws IOException, ParseException {
+        for (String path : Replay.testsWith(kind, scale)) {
+            Input test = new StreamingInputLoader(path).readData();
+            List<ActionInputData> testActions = test.getCommands();
+            for (int i = 0; i < testActions.size(); i++) {
+                ActionInputData action = testActions.get(i);
+                String result = Action.act(test, action);
+                if (Replay.kindOf(action).equals(kind) && result.startsWith(SUCCESS)) {
+                    paths.add(path);
+                    positions.add(i);
+                    actions.add(action);
+                }
+            }
+        }
+        if (actions.isEmpty()) {
+            throw new IllegalStateException("No " + kind + " command succeeds in the tests");
+        }
+    }
+
+    /**
+     * Rebuilds the states of the commands, which the previous batch changed
+     */
+    @Setup(Level.Iteration)
+    public void restore() {
+        inputs.clear();
+        for (int i = 0; i < actions.size(); i++) {
+            inputs.add(Replay.before(paths.get(i), positions.get(i)));
+        }
+    }
+
+    /**
+     * Runs every command once
+     * @param blackhole receives the results
+     */
+    @Benchmark
+    public void run(final Blackhole blackhole) {
+        for (int i = 0; i < actions.size(); i++) {
+            blackhole.consume(Action.act(inputs.get(i), actions.get(i)));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+import common.Constants;
+import fileio.Input;
+import fileio.StreamingInputLoader;
+import org.json.simple.parser.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average time to read a test and build its Database with all the indexes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadBenchmark {
+    /**
+     * Name of the test
+     */
+    @Param({"large_test_no_8.json", "large_test_no_9.json"})
+    public String test;
+    /**
+     * Number of copies of the database of the test
+     */
+    @Param({"1", "10"})
+    public int scale;
+
+    /**
+     * Input of the test, scaled
+     */
+    private String path;
+
+    /**
+     * Scales the test
+     * @throws IOException in case of exceptions to reading / writing
+     * @throws ParseException if the test is not valid JSON
+     */
+    @Setup(Level.Trial)
+    public void prepare() throws IOException, ParseException {
+        path = ScaledInput.create(Constants.TESTS_PATH + test, scale);
+    }
+
+    /**
+     *
+     * @return the loaded test
+     */
+    @Benchmark
+    public Input load() {
+        return new StreamingInputLoader(path).readData();
+    }
+}
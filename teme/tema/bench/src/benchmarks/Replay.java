@@ -0,0 +1,86 @@
+package benchmarks;
+
+import actions.Action;
+import common.Constants;
+import fileio.ActionInputData;
+import fileio.Input;
+import fileio.StreamingInputLoader;
+import org.json.simple.parser.ParseException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the actions of a kind in the tests and rebuilds the state each of them runs on.
+ * <p>
+ * An action sees the database of its test changed by all the commands before it, so a
+ * test is loaded again and those commands are run on it. Queries and recommendations
+ * do not change the database, so they are skipped.
+ */
+public final class Replay {
+    /**
+     * for coding style
+     */
+    private Replay() {
+    }
+
+    /**
+     * @param action an action of a test
+     * @return "query:" followed by the object type and the criteria for a query, the
+     * action type and the type for the other actions
+     */
+    public static String kindOf(final ActionInputData action) {
+        if (action.getActionType().equals(Constants.QUERY)) {
+            return Constants.QUERY + ":" + action.getObjectType() + ":"
+                    + action.getCriteria();
+        }
+        return action.getActionType() + ":" + action.getType();
+    }
+
+    /**
+     * @param kind kind of the actions, as given by kindOf
+     * @param scale number of copies of the database of every test
+     * @return paths of the tests having actions of the kind, scaled by {@link ScaledInput}
+     * @throws IOException in case of exceptions to reading / writing
+     * @throws ParseException if a test is not valid JSON
+     */
+    public static List<String> testsWith(final String kind, final int scale)
+            throws IOException, ParseException {
+        File[] files = new File(Constants.TESTS_PATH).listFiles();
+        if (files == null) {
+            throw new IllegalStateException("Run from the project directory, next to "
+                    + Constants.TESTS_PATH);
+        }
+        Arrays.sort(files);
+        List<String> paths = new ArrayList<>();
+        for (File file : files) {
+            Input input = new StreamingInputLoader(file.getPath()).readData();
+            if (input.getCommands().stream().anyMatch(action -> kindOf(action).equals(kind))) {
+                paths.add(ScaledInput.create(file.getPath(), scale));
+            }
+        }
+        if (paths.isEmpty()) {
+            throw new IllegalStateException("No test has " + kind + " actions");
+        }
+        return paths;
+    }
+
+    /**
+     * @param path test input
+     * @param position index of an action among the actions of the test
+     * @return the input of the test after the commands before that action
+     */
+    public static Input before(final String path, final int position) {
+        Input input = new StreamingInputLoader(path).readData();
+        List<ActionInputData> actions = input.getCommands();
+        for (int i = 0; i < position; i++) {
+            if (actions.get(i).getActionType().equals(Constants.COMMAND)) {
+                Action.act(input, actions.get(i));
+            }
+        }
+        return input;
+    }
+}
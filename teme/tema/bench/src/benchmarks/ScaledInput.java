@@ -0,0 +1,167 @@
+package benchmarks;
+
+import common.Constants;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Makes a test input larger by repeating its database.
+ * <p>
+ * Copy k of every actor, user, movie and serial gets " #k" appended to its name, and so
+ * do the names it refers to (filmography, cast, history, favorites), so every copy is a
+ * self-contained database with the same shape as the original. The first copy keeps
+ * the original names and the actions are kept unchanged, so they keep their meaning
+ * while running against a database that many times larger.
+ */
+public final class ScaledInput {
+    /**
+     * for coding style
+     */
+    private ScaledInput() {
+    }
+
+    /**
+     * @param source path of a test input
+     * @param copies number of copies of the database, at least 1
+     * @return path of the scaled input; the source itself for a single copy
+     * @throws IOException in case of exceptions to reading / writing
+     * @throws ParseException if the source is not valid JSON
+     */
+    public static String create(final String source, final int copies)
+            throws IOException, ParseException {
+        if (copies <= 1) {
+            return source;
+        }
+        JSONObject input;
+        try (Reader reader = new FileReader(source)) {
+            input = (JSONObject) new JSONParser().parse(reader);
+        }
+        JSONObject database = (JSONObject) input.get(Constants.DATABASE);
+        JSONObject scaled = new JSONObject();
+        put(scaled, Constants.ACTORS, repeat((JSONArray) database.get(Constants.ACTORS),
+                copies, ScaledInput::renameActor));
+        put(scaled, Constants.MOVIES, repeat((JSONArray) database.get(Constants.MOVIES),
+                copies, ScaledInput::renameMovie));
+        put(scaled, Constants.SHOWS, repeat((JSONArray) database.get(Constants.SHOWS),
+                copies, ScaledInput::renameSerial));
+        put(scaled, Constants.USERS, repeat((JSONArray) database.get(Constants.USERS),
+                copies, ScaledInput::renameUser));
+        put(input, Constants.DATABASE, scaled);
+
+        File target = File.createTempFile("videosdb-x" + copies + "-", ".json");
+        target.deleteOnExit();
+        try (Writer writer = new FileWriter(target)) {
+            input.writeJSONString(writer);
+        }
+        return target.getPath();
+    }
+
+    private interface Renamer {
+        JSONObject rename(JSONObject entity, String suffix);
+    }
+
+    private static JSONArray repeat(final JSONArray entities, final int copies,
+                                    final Renamer renamer) {
+        JSONArray result = new JSONArray();
+        if (entities == null) {
+            return result;
+        }
+        for (Object entity : entities) {
+            add(result, entity);
+        }
+        for (int copy = 1; copy < copies; copy++) {
+            String suffix = " #" + copy;
+            for (Object entity : entities) {
+                add(result, renamer.rename((JSONObject) entity, suffix));
+            }
+        }
+        return result;
+    }
+
+    private static JSONObject renameActor(final JSONObject actor, final String suffix) {
+        JSONObject copy = copyOf(actor);
+        rename(copy, Constants.NAME, suffix);
+        renameAll(copy, Constants.FILMOGRAPHY, suffix);
+        return copy;
+    }
+
+    private static JSONObject renameMovie(final JSONObject movie, final String suffix) {
+        JSONObject copy = copyOf(movie);
+        rename(copy, Constants.NAME, suffix);
+        renameAll(copy, Constants.ACTORS, suffix);
+        return copy;
+    }
+
+    private static JSONObject renameSerial(final JSONObject serial, final String suffix) {
+        JSONObject copy = copyOf(serial);
+        rename(copy, Constants.NAME, suffix);
+        renameAll(copy, Constants.CAST, suffix);
+        return copy;
+    }
+
+    private static JSONObject renameUser(final JSONObject user, final String suffix) {
+        JSONObject copy = copyOf(user);
+        rename(copy, Constants.USERNAME, suffix);
+        renameAll(copy, Constants.FAVORITE_MOVIES, suffix);
+        JSONArray history = (JSONArray) user.get(Constants.HISTORY);
+        if (history != null) {
+            JSONArray renamed = new JSONArray();
+            for (Object entry : history) {
+                JSONObject view = copyOf((JSONObject) entry);
+                rename(view, Constants.NAME, suffix);
+                add(renamed, view);
+            }
+            put(copy, Constants.HISTORY, renamed);
+        }
+        return copy;
+    }
+
+    private static JSONObject copyOf(final JSONObject entity) {
+        JSONObject copy = new JSONObject();
+        for (Object key : entity.keySet()) {
+            put(copy, key, entity.get(key));
+        }
+        return copy;
+    }
+
+    /**
+     * json-simple only has raw types, so its writes are unchecked
+     */
+    @SuppressWarnings("unchecked")
+    private static void put(final JSONObject object, final Object key, final Object value) {
+        object.put(key, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void add(final JSONArray array, final Object value) {
+        array.add(value);
+    }
+
+    private static void rename(final JSONObject entity, final String key, final String suffix) {
+        Object name = entity.get(key);
+        if (name != null) {
+            put(entity, key, name + suffix);
+        }
+    }
+
+    private static void renameAll(final JSONObject entity, final String key,
+                                  final String suffix) {
+        Object names = entity.get(key);
+        if (names instanceof JSONArray) {
+            JSONArray renamed = new JSONArray();
+            for (Object name : (JSONArray) names) {
+                add(renamed, name == null ? null : name + suffix);
+            }
+            put(entity, key, renamed);
+        }
+    }
+}
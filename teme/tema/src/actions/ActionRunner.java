@@ -0,0 +1,75 @@
+package actions;
+
+import common.Constants;
+import fileio.ActionInputData;
+import fileio.Input;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the actions of a test and hands over their results in input order.
+ * <p>
+ * Only commands change the database, so in parallel mode the queries and
+ * recommendations found between two commands run at the same time, all of them
+ * seeing the database as the previous command left it.
+ */
+public final class ActionRunner {
+
+    private ActionRunner() {
+
+    }
+
+    /**
+     * Receives the result of every action
+     */
+    public interface ResultConsumer {
+        /**
+         * @param action action
+         * @param result result message
+         * @throws IOException in case of exceptions to writing
+         */
+        void accept(ActionInputData action, String result) throws IOException;
+    }
+
+    /**
+     * Runs the actions in order
+     * @param input database
+     * @param actions actions
+     * @param parallel true to run the read-only actions between commands in parallel
+     * @param consumer receives the results, in the order of the actions
+     * @throws IOException in case of exceptions to writing
+     */
+    public static void run(final Input input, final List<ActionInputData> actions,
+                           final boolean parallel, final ResultConsumer consumer)
+            throws IOException {
+        int start = 0;
+        while (start < actions.size()) {
+            ActionInputData action = actions.get(start);
+            if (!parallel || isCommand(action)) {
+                consumer.accept(action, Action.act(input, action));
+                start++;
+                continue;
+            }
+
+            int end = start;
+            while (end < actions.size() && end - start < Constants.MAX_PARALLEL_ACTIONS
+                    && !isCommand(actions.get(end))) {
+                end++;
+            }
+            List<ActionInputData> block = actions.subList(start, end);
+            String[] results = new String[block.size()];
+            IntStream.range(0, block.size()).parallel()
+                    .forEach(i -> results[i] = Action.act(input, block.get(i)));
+            for (int i = 0; i < results.length; i++) {
+                consumer.accept(block.get(i), results[i]);
+            }
+            start = end;
+        }
+    }
+
+    private static boolean isCommand(final ActionInputData action) {
+        return Constants.COMMAND.equals(action.getActionType());
+    }
+}
@@ -1,13 +1,12 @@
 package actions;
 
-import entertainment.Season;
+import database.Database;
 import fileio.Input;
 import fileio.ActionInputData;
 import fileio.MovieInputData;
 import fileio.SerialInputData;
 import fileio.UserInputData;
-
-import java.util.ArrayList;
+import utils.Utils;
 
 public final class Commands {
 
@@ -37,16 +36,17 @@ public final class Commands {
      * @return result
      */
     public static String viewVideo(final Input input, final ActionInputData action) {
+        Database database = input.getDatabase();
         String video = action.getTitle();
-        String username = action.getUsername();
-        for (UserInputData user : input.getUsers()) {
-            if (user.getUsername().equals(username)) {
-                user.getHistory().merge(video, 1, Integer::sum);
-                return "success -> " + video
-                       + " was viewed with total views of " + user.getHistory().get(video);
-            }
+        UserInputData user = database.getUser(action.getUsername());
+        if (user == null) {
+            return "User not found!";
         }
-        return "User not found!";
+        int title = database.internTitle(video);
+        int views = user.addView(title);
+        database.addView(user, title);
+        return "success -> " + video
+               + " was viewed with total views of " + views;
     }
 
     /**
@@ -56,23 +56,22 @@ public final class Commands {
      * @return result
      */
     public static String favoriteVideo(final Input input, final ActionInputData action) {
+        Database database = input.getDatabase();
         String video = action.getTitle();
-        String username = action.getUsername();
-        for (UserInputData user : input.getUsers()) {
-            if (user.getUsername().equals(username)) {
-                for (String movie : user.getFavoriteMovies()) {
-                    if (movie.equals(video)) {
-                        return "error -> " + video + " is already in favourite list";
-                    }
-                }
-                if (!user.getHistory().containsKey(video)) {
-                    return "error -> " + video + " is not seen";
-                }
-                user.addToFavourite(video);
-                return "success -> " + video + " was added as favourite";
-            }
+        UserInputData user = database.getUser(action.getUsername());
+        if (user == null) {
+            return "User not found!";
         }
-        return "User not found!";
+        int title = database.findTitle(video);
+        if (title >= 0 && user.isFavorite(title)) {
+            return "error -> " + video + " is already in favourite list";
+        }
+        if (title < 0 || !user.hasViewed(title)) {
+            return "error -> " + video + " is not seen";
+        }
+        user.addFavorite(title);
+        database.addFavorite(title);
+        return "success -> " + video + " was added as favourite";
     }
 
     /**
@@ -82,46 +81,38 @@ public final class Commands {
      * @return result
      */
     public static String setRating(final Input input, final ActionInputData action) {
+        Database database = input.getDatabase();
         String video = action.getTitle();
         String username = action.getUsername();
         double rating = action.getGrade();
         int seasonNumber = action.getSeasonNumber();
-        String video2 = video;
-        if (seasonNumber > 0) {
-            video2 += String.valueOf(seasonNumber);
+        UserInputData user = database.getUser(username);
+        if (user == null) {
+            return "User not found!";
+        }
+        int title = database.findTitle(video);
+        if (title < 0 || !user.hasViewed(title)) {
+            return "error -> " + video + " is not seen";
         }
-        for (UserInputData user : input.getUsers()) {
-            if (user.getUsername().equals(username)) {
-                if (!user.getHistory().containsKey(video)) {
-                    return "error -> " + video + " is not seen";
-                }
-                for (String movie: user.getRatedMovies()) {
-                    if (movie.equals(video2)) {
-                        return "error -> " + video + " has been already rated";
-                    }
-                }
-                ArrayList<String> ratedMovies = user.getRatedMovies();
-                ratedMovies.add(video2);
-                user.setRatedMovies(ratedMovies);
-                if (seasonNumber > 0) {
-                    for (SerialInputData serial : input.getSerials()) {
-                        if (serial.getTitle().equals(video)) {
-                            Season season = serial.getSeasons().get(seasonNumber - 1);
-                            season.addRating(rating);
-                            return "success -> " + video + " was rated with " + rating + " by "
-                                                                                    + username;
-                        }
-                    }
-                }
-                for (MovieInputData movie : input.getMovies()) {
-                    if (movie.getTitle().equals(video)) {
-                        movie.getRatings().add(rating);
-                        return "success -> " + video + " was rated with " + rating + " by "
-                                                                                    + username;
-                    }
-                }
+        long key = Utils.ratingKey(title, Math.max(seasonNumber, 0));
+        if (user.hasRated(key)) {
+            return "error -> " + video + " has been already rated";
+        }
+        user.addRating(key);
+        if (seasonNumber > 0) {
+            SerialInputData serial = database.getSerial(video);
+            if (serial != null) {
+                database.rateSeason(serial, seasonNumber, rating);
+                return "success -> " + video + " was rated with " + rating + " by "
+                                                                        + username;
             }
         }
+        MovieInputData movie = database.getMovie(video);
+        if (movie != null) {
+            database.rateMovie(movie, rating);
+            return "success -> " + video + " was rated with " + rating + " by "
+                                                                    + username;
+        }
         return "User not found!";
     }
 }
@@ -1,19 +1,23 @@
 package actions;
 
-import actor.ActorsAwards;
+import database.Database;
+import entertainment.Genre;
 
 import fileio.Input;
 import fileio.ActionInputData;
-import fileio.MovieInputData;
-import fileio.SerialInputData;
 import fileio.UserInputData;
 import fileio.ActorInputData;
 import fileio.ShowInput;
+import utils.ResultFormatter;
+import utils.TopK;
+import utils.Utils;
 
-import java.util.Collections;
+import java.util.Collection;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Comparator;
+import java.util.function.Function;
 
 import static common.Constants.MAX_INT_COUNTER;
 import static common.Constants.WORDS_ID;
@@ -49,46 +53,23 @@ public final class Queries {
     public static String getUsers(final Input input, final ActionInputData action) {
         List<UserInputData> users = new ArrayList<>();
         for (UserInputData user : input.getUsers()) {
-            if (user.getRatedMovies().size() > 0) {
+            if (user.getRatingsCount() > 0) {
                 users.add(user);
             }
         }
 
-        users.sort((o1, o2) -> {
-            if (o1.getRatedMovies().size() > o2.getRatedMovies().size()) {
+        Comparator<UserInputData> comparator = (o1, o2) -> {
+            if (o1.getRatingsCount() > o2.getRatingsCount()) {
                 return 1;
             }
-            if (o1.getRatedMovies().size() < o2.getRatedMovies().size()) {
+            if (o1.getRatingsCount() < o2.getRatingsCount()) {
                 return -1;
             }
             return o1.getUsername().compareTo(o2.getUsername());
-        });
-        if (action.getSortType().equals("desc")) {
-            Collections.reverse(users);
-        }
-        return createUsersStringResult(users, action.getNumber());
-    }
-
-    /**
-     *
-     * @param users users
-     * @param n number of users
-     * @return string with the users
-     */
-    private static String createUsersStringResult(final List<UserInputData> users, final int n) {
-        String res = "Query result: [";
-        int m = n;
-        if (n == 0) {
-            m = MAX_INT_COUNTER;
-        }
-        for (int i = 0; i < Math.min(m - 1, users.size() - 1); i++) {
-            res = res.concat(users.get(i).getUsername() + ", ");
-        }
-        if (users.size() > 0) {
-            String lastUser = users.get(Math.min(m - 1, users.size() - 1)).getUsername();
-            return res + lastUser + "]";
-        }
-        return res + "]";
+        };
+        users = TopK.select(users, comparator, action.getSortType().equals("desc"),
+                action.getNumber());
+        return createStringResult(users, UserInputData::getUsername, action.getNumber());
     }
 
     /**
@@ -117,10 +98,16 @@ public final class Queries {
      * @return result
      */
     private static String getActorsByAverage(final Input input, final ActionInputData action) {
-        calculateActorRating(input);
-        List<ActorInputData> actors = filterActors(input, action.getFilters());
+        Collection<ActorInputData> candidates = input.getDatabase().getRatedActors();
+        List<String> words = action.getFilters().get(WORDS_ID);
+        if (words != null) {
+            candidates = input.getDatabase().getActorsByDescription(words);
+        }
+        List<ActorInputData> actors = filterActorsByAwards(candidates,
+                action.getFilters().get(AWARDS_ID));
+        actors.removeIf(actor -> actor.getRating() == 0.0);
 
-        actors.sort((o1, o2) -> {
+        Comparator<ActorInputData> comparator = (o1, o2) -> {
             if (o1.getRating() > o2.getRating()) {
                 return 1;
             }
@@ -128,29 +115,21 @@ public final class Queries {
                 return -1;
             }
             return o1.getName().compareTo(o2.getName());
-        });
-
-        actors.removeIf(actor -> actor.getRating() == 0.0);
+        };
 
-        if (action.getSortType().equals("desc")) {
-            Collections.reverse(actors);
-        }
-        return createActorsStringResult(actors, action.getNumber());
+        actors = TopK.select(actors, comparator, action.getSortType().equals("desc"),
+                action.getNumber());
+        return createStringResult(actors, ActorInputData::getName, action.getNumber());
     }
 
     private static String getActorsByAwardsAndDescription(final Input input,
                                                           final ActionInputData action) {
 
         List<ActorInputData> actors = filterActors(input, action.getFilters());
+        Comparator<ActorInputData> comparator = Comparator.comparing(ActorInputData::getName);
         if (action.getCriteria().equals("awards")) {
-            actors.sort((o1, o2) -> {
-                int o1awards = 0, o2awards = 0;
-                for (int n : o1.getAwards().values()) {
-                        o1awards += n;
-                }
-                for (int n : o2.getAwards().values()) {
-                    o2awards += n;
-                }
+            comparator = (o1, o2) -> {
+                int o1awards = o1.getAwardsCount(), o2awards = o2.getAwardsCount();
                 if (o1awards > o2awards) {
                     return 1;
                 }
@@ -158,117 +137,47 @@ public final class Queries {
                     return -1;
                 }
                 return o1.getName().compareTo(o2.getName());
-            });
-        } else {
-            actors.sort(Comparator.comparing(ActorInputData::getName));
+            };
         }
-        if (action.getSortType().equals("desc")) {
-            Collections.reverse(actors);
-        }
-        return createActorsStringResult(actors, action.getNumber());
+        actors = TopK.select(actors, comparator, action.getSortType().equals("desc"),
+                action.getNumber());
+        return createStringResult(actors, ActorInputData::getName, action.getNumber());
     }
 
     /**
      *
-     * @param actors actors
-     * @param n number of actors
-     * @return string with the actors
-     */
-    private static String createActorsStringResult(final List<ActorInputData> actors, final int n) {
-        String res = "Query result: [";
-        int m = n;
-        if (n == 0) {
-            m = MAX_INT_COUNTER;
-        }
-        for (int i = 0; i < Math.min(m - 1, actors.size() - 1); i++) {
-            res = res.concat(actors.get(i).getName() + ", ");
-        }
-        if (actors.size() > 0) {
-            String lastActor = actors.get(Math.min(m - 1, actors.size() - 1)).getName();
-            return res + lastActor + "]";
-        }
-        return res + "]";
-    }
-
-    /**
-     *
-     * @param input databaase
+     * @param input database
+     * @param filters filters
+     * @return list with filtered actors
      */
-    private static void calculateActorRating(final Input input) {
-        for (ActorInputData actor : input.getActors()) {
-            double rating = 0.0;
-            int numberOfMovies = 0;
-            for (MovieInputData movie : input.getMovies()) {
-                for (String cast : movie.getCast()) {
-                    if (cast.equals(actor.getName())) {
-                        double r = movie.getRating();
-                        if (r > 0) {
-                            rating += r;
-                            numberOfMovies++;
-                        }
-                        break;
-                    }
-                }
-            }
-            for (SerialInputData serial : input.getSerials()) {
-                for (String cast : serial.getCast()) {
-                    if (cast.equals(actor.getName())) {
-                        double r = serial.getRating();
-                        if (r > 0) {
-                            rating += r;
-                            numberOfMovies++;
-                        }
-                        break;
-                    }
-                }
-            }
-            if (numberOfMovies > 0) {
-                actor.setRating(rating / numberOfMovies);
-            } else {
-                actor.setRating(0.0);
-            }
+    public static List<ActorInputData> filterActors(final Input input,
+                                                    final List<List<String>> filters) {
+        Collection<ActorInputData> candidates = input.getActors();
+        List<String> words = filters.get(WORDS_ID);
+        if (words != null) {
+            candidates = input.getDatabase().getActorsByDescription(words);
         }
+        return filterActorsByAwards(candidates, filters.get(AWARDS_ID));
     }
 
     /**
      *
-     * @param input database
-     * @param filters filters
-     * @return list with filtered actors
+     * @param candidates actors to be filtered
+     * @param awards awards filter
+     * @return list with the actors having all the awards
      */
-    public static List<ActorInputData> filterActors(final Input input,
-                                                    final List<List<String>> filters) {
+    private static List<ActorInputData> filterActorsByAwards(
+            final Collection<ActorInputData> candidates, final List<String> awards) {
         List<ActorInputData> actors = new ArrayList<>();
+        int mask = 0;
+        if (awards != null) {
+            mask = Utils.awardsMask(awards);
+        }
 
-        List<String> words = filters.get(WORDS_ID);
-        List<String> awards = filters.get(AWARDS_ID);
-
-        for (ActorInputData actor : input.getActors()) {
-            int ok = 1;
-            if (words != null) {
-                for (String word : words) {
-                    word = word.toLowerCase();
-                    if (!actor.getCareerDescription().toLowerCase().contains(word + " ")
-                            && !actor.getCareerDescription().toLowerCase().contains(word + ",")
-                            && !actor.getCareerDescription().toLowerCase().contains(word + ".")) {
-                        ok = 0;
-                        break;
-                    }
-                }
+        for (ActorInputData actor : candidates) {
+            if ((actor.getAwardsMask() & mask) == mask) {
+                actors.add(actor);
             }
-            if (awards != null) {
-                for (String award : awards) {
-                    ActorsAwards aw = ActorsAwards.valueOf(award);
-                    if (!actor.getAwards().containsKey(aw)) {
-                        ok = 0;
-                        break;
-                    }
-                }
-            }
-            if (ok == 0) {
-                continue;
-            }
-            actors.add(actor);
         }
         return actors;
     }
@@ -303,7 +212,7 @@ public final class Queries {
      */
     private static String getShowsByLongest(final Input input, final ActionInputData action) {
         List<ShowInput> shows = filterShows(input, action.getObjectType(), action.getFilters());
-        shows.sort((o1, o2) -> {
+        Comparator<ShowInput> comparator = (o1, o2) -> {
             if (o1.getDuration() > o2.getDuration()) {
                 return 1;
             }
@@ -311,12 +220,11 @@ public final class Queries {
                 return -1;
             }
             return o1.getTitle().compareTo(o2.getTitle());
-        });
+        };
         shows.removeIf(show -> show.getDuration() == 0.0);
-        if (action.getSortType().equals("desc")) {
-            Collections.reverse(shows);
-        }
-        return createShowsStringResult(shows, action.getNumber());
+        shows = TopK.select(shows, comparator, action.getSortType().equals("desc"),
+                action.getNumber());
+        return createStringResult(shows, ShowInput::getTitle, action.getNumber());
     }
 
     /**
@@ -326,19 +234,13 @@ public final class Queries {
      * @return shows
      */
     private static String getShowsByFavorite(final Input input, final ActionInputData action) {
+        Database database = input.getDatabase();
         List<ShowInput> shows = filterShows(input, action.getObjectType(), action.getFilters());
-        shows.sort((o1, o2) -> {
-            int movieso1 = 0, movieso2 = 0;
-            for (UserInputData user : input.getUsers()) {
-                for (String movie : user.getFavoriteMovies()) {
-                    if (movie.equals(o1.getTitle())) {
-                        movieso1++;
-                    }
-                    if (movie.equals(o2.getTitle())) {
-                        movieso2++;
-                    }
-                }
-            }
+        /* all of them, removing in an indexed loop skipped the one after each removal */
+        shows.removeIf(show -> database.getFavorites(show) == 0);
+        Comparator<ShowInput> comparator = (o1, o2) -> {
+            int movieso1 = database.getFavorites(o1);
+            int movieso2 = database.getFavorites(o2);
             if (movieso1 > movieso2) {
                 return 1;
             }
@@ -346,28 +248,11 @@ public final class Queries {
                 return -1;
             }
             return o1.getTitle().compareTo(o2.getTitle());
-        });
-
-        for (int i = 0; i < shows.size(); i++) {
-            ShowInput video = shows.get(i);
-            int ok = 0;
-            for (UserInputData user : input.getUsers()) {
-                for (String movie : user.getFavoriteMovies()) {
-                    if (movie.equals(video.getTitle())) {
-                        ok = 1;
-                        break;
-                    }
-                }
-            }
-            if (ok == 0) {
-                shows.remove(video);
-            }
-        }
+        };
 
-        if (action.getSortType().equals("desc")) {
-            Collections.reverse(shows);
-        }
-        return createShowsStringResult(shows, action.getNumber());
+        shows = TopK.select(shows, comparator, action.getSortType().equals("desc"),
+                action.getNumber());
+        return createStringResult(shows, ShowInput::getTitle, action.getNumber());
     }
 
     /**
@@ -377,17 +262,12 @@ public final class Queries {
      * @return shows
      */
     private static String getShowsByMostViewed(final Input input, final ActionInputData action) {
+        Database database = input.getDatabase();
         List<ShowInput> shows = filterShows(input, action.getObjectType(), action.getFilters());
-        shows.sort((o1, o2) -> {
-            int movieso1 = 0, movieso2 = 0;
-            for (UserInputData user : input.getUsers()) {
-                if (user.getHistory().containsKey(o1.getTitle())) {
-                    movieso1 += user.getHistory().get(o1.getTitle());
-                }
-                if (user.getHistory().containsKey(o2.getTitle())) {
-                    movieso2 += user.getHistory().get(o2.getTitle());
-                }
-            }
+        shows.removeIf(show -> !database.isViewed(show));
+        Comparator<ShowInput> comparator = (o1, o2) -> {
+            int movieso1 = database.getViews(o1);
+            int movieso2 = database.getViews(o2);
             if (movieso1 > movieso2) {
                 return 1;
             }
@@ -395,26 +275,11 @@ public final class Queries {
                 return -1;
             }
             return o1.getTitle().compareTo(o2.getTitle());
-        });
-
-        for (int i = 0; i < shows.size(); i++) {
-            ShowInput video = shows.get(i);
-            int ok = 0;
-            for (UserInputData user : input.getUsers()) {
-                if (user.getHistory().containsKey(video.getTitle())) {
-                    ok = 1;
-                    break;
-                }
-            }
-            if (ok == 0) {
-                shows.remove(video);
-            }
-        }
+        };
 
-        if (action.getSortType().equals("desc")) {
-            Collections.reverse(shows);
-        }
-        return createShowsStringResult(shows, action.getNumber());
+        shows = TopK.select(shows, comparator, action.getSortType().equals("desc"),
+                action.getNumber());
+        return createStringResult(shows, ShowInput::getTitle, action.getNumber());
     }
 
     /**
@@ -425,7 +290,7 @@ public final class Queries {
      */
     private static String getShowsByRatings(final Input input, final ActionInputData action) {
         List<ShowInput> shows = filterShows(input, action.getObjectType(), action.getFilters());
-        shows.sort((o1, o2) -> {
+        Comparator<ShowInput> comparator = (o1, o2) -> {
             if (o1.getRating() > o2.getRating()) {
                 return 1;
             }
@@ -433,34 +298,28 @@ public final class Queries {
                 return -1;
             }
             return o1.getTitle().compareTo(o2.getTitle());
-        });
+        };
         shows.removeIf(show -> show.getRating() == 0.0);
-        if (action.getSortType().equals("desc")) {
-            Collections.reverse(shows);
-        }
-        return createShowsStringResult(shows, action.getNumber());
+        shows = TopK.select(shows, comparator, action.getSortType().equals("desc"),
+                action.getNumber());
+        return createStringResult(shows, ShowInput::getTitle, action.getNumber());
     }
 
     /**
      *
-     * @param shows shows
-     * @param n number of shows
-     * @return string with shows
+     * @param <T> type of the elements
+     * @param items users, actors or shows
+     * @param name gives the name written for an element
+     * @param n number of elements
+     * @return string with the elements
      */
-    private static String createShowsStringResult(final List<ShowInput> shows, final int n) {
-        String res = "Query result: [";
+    private static <T> String createStringResult(final List<T> items,
+                                                 final Function<T, String> name, final int n) {
         int m = n;
         if (n == 0) {
             m = MAX_INT_COUNTER;
         }
-        for (int i = 0; i < Math.min(m - 1, shows.size() - 1); i++) {
-            res = res.concat(shows.get(i).getTitle() + ", ");
-        }
-        if (shows.size() > 0) {
-            String lastActor = shows.get(Math.min(m - 1, shows.size() - 1)).getTitle();
-            return res + lastActor + "]";
-        }
-        return res + "]";
+        return ResultFormatter.format("Query result: ", items, name, m);
     }
 
     /**
@@ -470,6 +329,7 @@ public final class Queries {
      */
     private static List<ShowInput> filterShows(final Input input, final String videoType,
                                                final List<List<String>> filters) {
+        Database database = input.getDatabase();
         List<ShowInput> shows = new ArrayList<>();
         int year = 0;
         if (filters.get(0).get(0) != null) {
@@ -477,29 +337,17 @@ public final class Queries {
         }
         String showGenre = filters.get(1).get(0);
 
-        if (videoType.equals("movies")) {
-            for (ShowInput show : input.getMovies()) {
-                if (show.getYear() == year || year == 0) {
-                    for (String genre : show.getGenres()) {
-                        if (genre.equals(showGenre) || showGenre == null) {
-                            shows.add(show);
-                            break;
-                        }
-                    }
-                }
-            }
-        } else {
-            for (ShowInput show : input.getSerials()) {
-                if (show.getYear() == year || year == 0) {
-                    for (String genre : show.getGenres()) {
-                        if (genre.equals(showGenre) || showGenre == null) {
-                            shows.add(show);
-                            break;
-                        }
-                    }
-                }
+        Genre genre = null;
+        if (showGenre != null) {
+            genre = Utils.stringToGenre(showGenre);
+            if (genre == null) {
+                return shows;
             }
         }
+        BitSet ids = database.filterShows(videoType.equals("movies"), year, genre);
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            shows.add(database.getShow(id));
+        }
         return shows;
     }
 
@@ -1,16 +1,17 @@
 package actions;
 
+import database.Database;
+import entertainment.Genre;
 import fileio.ActionInputData;
 import fileio.Input;
 import fileio.ShowInput;
 import fileio.UserInputData;
+import utils.ResultFormatter;
+import utils.Utils;
 
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Collections;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
 
 public final class Recommendations {
 
@@ -42,35 +43,7 @@ public final class Recommendations {
      * @return the user object with the given name
      */
     public static UserInputData getUser(final String userName, final Input input) {
-        for (UserInputData user : input.getUsers()) {
-            if (user.getUsername().equals(userName)) {
-                return user;
-            }
-        }
-        return null;
-    }
-
-    /**
-     *
-     * @param input database
-     * @param user user
-     * @return unseen videos
-     */
-    public static List<ShowInput> getUnseenVideos(final Input input, final UserInputData user) {
-        List<ShowInput> unseenVideos = new ArrayList<>();
-        for (ShowInput video : input.getMovies()) {
-            assert user != null;
-            if (!user.getHistory().containsKey(video.getTitle())) {
-                unseenVideos.add(video);
-            }
-        }
-        for (ShowInput video : input.getSerials()) {
-            assert user != null;
-            if (!user.getHistory().containsKey(video.getTitle())) {
-                unseenVideos.add(video);
-            }
-        }
-        return unseenVideos;
+        return input.getDatabase().getUser(userName);
     }
 
     /**
@@ -80,12 +53,12 @@ public final class Recommendations {
      * @return result
      */
     public static String recommendStandard(final Input input, final ActionInputData action) {
+        Database database = input.getDatabase();
         UserInputData user = getUser(action.getUsername(), input);
         if (user != null) {
-            List<ShowInput> unseenVideos = getUnseenVideos(input, user);
-
-            if (unseenVideos.size() > 0) {
-                return "StandardRecommendation result: " + unseenVideos.get(0).getTitle();
+            int id = user.getSeenTitles().nextClearBit(0);
+            if (id < database.getShowCount()) {
+                return "StandardRecommendation result: " + database.getShow(id).getTitle();
             }
         }
         return "StandardRecommendation cannot be applied!";
@@ -98,26 +71,18 @@ public final class Recommendations {
      * @return result
      */
     public static String recommendBestUnseen(final Input input, final ActionInputData action) {
+        Database database = input.getDatabase();
         UserInputData user = getUser(action.getUsername(), input);
         if (user != null) {
-            List<ShowInput> unseenVideos = getUnseenVideos(input, user);
-
-            sortByRating(unseenVideos);
-            if (unseenVideos.size() > 0) {
-                return "BestRatedUnseenRecommendation result: " + unseenVideos.get(0).getTitle();
+            for (ShowInput video : database.getBestRated()) {
+                if (!user.hasSeen(video.getId())) {
+                    return "BestRatedUnseenRecommendation result: " + video.getTitle();
+                }
             }
         }
         return "BestRatedUnseenRecommendation cannot be applied!";
     }
 
-    /**
-     *
-     * @param unseenVideos videos
-     */
-    private static void sortByRating(final List<ShowInput> unseenVideos) {
-        unseenVideos.sort((o1, o2) -> o2.getRating().compareTo(o1.getRating()));
-    }
-
     /**
      *
      * @param input database
@@ -125,22 +90,15 @@ public final class Recommendations {
      * @return result
      */
     public static String recommendPopular(final Input input, final ActionInputData action) {
+        Database database = input.getDatabase();
         UserInputData user = getUser(action.getUsername(), input);
         if (user != null && user.getSubscriptionType().equals("PREMIUM")) {
-            List<String> genres = getMostViewedGenres(input);
-            for (String genre : genres) {
-                for (ShowInput video : input.getMovies()) {
-                    if (video.getGenres().contains(genre)) {
-                        if (!user.getHistory().containsKey(video.getTitle())) {
-                            return "PopularRecommendation result: " + video.getTitle();
-                        }
-                    }
-                }
-                for (ShowInput video : input.getSerials()) {
-                    if (video.getGenres().contains(genre)) {
-                        if (!user.getHistory().containsKey(video.getTitle())) {
-                            return "PopularRecommendation result: " + video.getTitle();
-                        }
+            for (Genre genre : database.getPopularGenres()) {
+                BitSet ids = database.getTitlesByGenre(genre);
+                for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+                    ShowInput video = database.getShow(id);
+                    if (!user.hasSeen(id)) {
+                        return "PopularRecommendation result: " + video.getTitle();
                     }
                 }
             }
@@ -149,61 +107,6 @@ public final class Recommendations {
         return "PopularRecommendation cannot be applied!";
     }
 
-    /**
-     *
-     * @param hm map
-     * @return the map sorted by integer value in reverse
-     */
-    public static Map<String, Integer> sortByValue(final Map<String, Integer> hm) {
-        List<Map.Entry<String, Integer>> list = new LinkedList<>(hm.entrySet());
-        list.sort(Map.Entry.comparingByValue());
-        Collections.reverse(list);
-        Map<String, Integer> temp = new LinkedHashMap<>();
-        for (Map.Entry<String, Integer> aa : list) {
-            temp.put(aa.getKey(), aa.getValue());
-        }
-        return temp;
-    }
-
-    /**
-     *
-     * @param map map
-     * @param key string
-     * @param n number of incrementers
-     */
-    public static void increment(final Map<String, Integer> map, final String key, final int n) {
-        Integer count = map.getOrDefault(key, 0);
-        map.put(key, count + n);
-    }
-
-    private static List<String> getMostViewedGenres(final Input input) {
-        Map<String, Integer> genresViews = new LinkedHashMap<>();
-        for (ShowInput video : input.getMovies()) {
-            int totalVideoViews = 0;
-            for (UserInputData user : input.getUsers()) {
-                if (user.getHistory().containsKey(video.getTitle())) {
-                    totalVideoViews += user.getHistory().get(video.getTitle());
-                }
-            }
-            for (String videoGenre : video.getGenres()) {
-                increment(genresViews, videoGenre, totalVideoViews);
-            }
-        }
-        for (ShowInput video : input.getSerials()) {
-            int totalVideoViews = 0;
-            for (UserInputData user : input.getUsers()) {
-                if (user.getHistory().containsKey(video.getTitle())) {
-                    totalVideoViews += user.getHistory().get(video.getTitle());
-                }
-            }
-            for (String videoGenre : video.getGenres()) {
-                increment(genresViews, videoGenre, totalVideoViews);
-            }
-        }
-        genresViews = sortByValue(genresViews);
-        return new ArrayList<>(genresViews.keySet());
-    }
-
     /**
      *
      * @param input database
@@ -211,36 +114,19 @@ public final class Recommendations {
      * @return result
      */
     public static String recommendFavorite(final Input input, final ActionInputData action) {
+        Database database = input.getDatabase();
         UserInputData user = getUser(action.getUsername(), input);
         String favoriteVideo = "";
         int maxFavourites = 0;
         if (user != null && user.getSubscriptionType().equals("PREMIUM")) {
-            for (ShowInput video : input.getMovies()) {
-                if (!user.getHistory().containsKey(video.getTitle())) {
-                    int favourites = 0;
-                    for (UserInputData u : input.getUsers()) {
-                        if (u.getFavoriteMovies().contains(video.getTitle())) {
-                            favourites++;
-                        }
-                    }
-                    if (favourites > maxFavourites) {
-                        maxFavourites = favourites;
-                        favoriteVideo = video.getTitle();
-                    }
-                }
-            }
-            for (ShowInput video : input.getSerials()) {
-                if (!user.getHistory().containsKey(video.getTitle())) {
-                    int favourites = 0;
-                    for (UserInputData u : input.getUsers()) {
-                        if (u.getFavoriteMovies().contains(video.getTitle())) {
-                            favourites++;
-                        }
-                    }
-                    if (favourites > maxFavourites) {
-                        maxFavourites = favourites;
-                        favoriteVideo = video.getTitle();
-                    }
+            BitSet seen = user.getSeenTitles();
+            for (int id = seen.nextClearBit(0); id < database.getShowCount();
+                 id = seen.nextClearBit(id + 1)) {
+                ShowInput video = database.getShow(id);
+                int favourites = database.getFavorites(video);
+                if (favourites > maxFavourites) {
+                    maxFavourites = favourites;
+                    favoriteVideo = video.getTitle();
                 }
             }
             if (!favoriteVideo.equals("")) {
@@ -257,50 +143,25 @@ public final class Recommendations {
      * @return result
      */
     public static String recommendSearch(final Input input, final ActionInputData action) {
+        Database database = input.getDatabase();
         UserInputData user = getUser(action.getUsername(), input);
-        if (user != null && user.getSubscriptionType().equals("PREMIUM")) {
-            List<ShowInput> videos = getUnseenVideos(input, user);
-            filterVideosByGenre(videos, action.getGenre());
-            videos.sort((o1, o2) -> {
-                if (o1.getRating() > o2.getRating()) {
-                    return 1;
-                }
-                if (o1.getRating() < o2.getRating()) {
-                    return -1;
+        Genre genre = null;
+        if (action.getGenre() != null) {
+            genre = Utils.stringToGenre(action.getGenre());
+        }
+        if (user != null && user.getSubscriptionType().equals("PREMIUM") && genre != null) {
+            List<ShowInput> videos = new ArrayList<>();
+            for (ShowInput video : database.getRatedByGenre(genre)) {
+                if (!user.hasSeen(video.getId())) {
+                    videos.add(video);
                 }
-                return o1.getTitle().compareTo(o2.getTitle());
-            });
+            }
             if (videos.size() > 0) {
-                return "SearchRecommendation result: " + createVideosStringResult(videos);
+                return ResultFormatter.format("SearchRecommendation result: ", videos,
+                        ShowInput::getTitle, videos.size());
             }
         }
         return "SearchRecommendation cannot be applied!";
     }
 
-    /**
-     *
-     * @param videos videos
-     * @return string with the videos
-     */
-    private static String createVideosStringResult(final List<ShowInput> videos) {
-        String res = "[";
-        for (int i = 0; i < videos.size() - 1; i++) {
-            res = res.concat(videos.get(i).getTitle() + ", ");
-        }
-        if (videos.size() > 0) {
-            String lastvideo = videos.get(videos.size() - 1).getTitle();
-            return res + lastvideo + "]";
-        }
-        return res + "]";
-    }
-
-    /**
-     * remove from the videos list those who does not have that particular genre
-     * @param videos videos
-     * @param genre genre
-     */
-    public static void filterVideosByGenre(final List<ShowInput> videos, final String genre) {
-        videos.removeIf(video -> !video.getGenres().contains(genre));
-    }
-
 }
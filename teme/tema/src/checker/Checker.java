@@ -71,6 +71,7 @@ public final class Checker {
     public void iterateFiles(final String dirOutPath, final String dirRefPath,
                              final String inputPath) throws IOException {
         int score = 0;
+        int maxScore = 0;
         int length;
 
         File dirOut = new File(dirOutPath);
@@ -103,14 +104,16 @@ public final class Checker {
             for (int i = 0; i < listOut.size(); i++) {
 
                 length = Constants.MAX_LENGTH - inputDir[i].getName().length();
+                boolean large = inputDir[i].getName().contains(Constants.LARGE)
+                        || inputDir[i].getName().contains(Constants.NO_VALUES);
+                maxScore += large ? Constants.LARGE_TEST : Constants.SINGLE_TEST;
                 if (compareQueries(listRefs.get(i), listOut.get(i))) {
 
                     char[] chars = new char[length];
                     Arrays.fill(chars, ' ');
                     String s = new String(chars);
 
-                    if (inputDir[i].getName().contains(Constants.LARGE)
-                            || inputDir[i].getName().contains(Constants.NO_VALUES)) {
+                    if (large) {
                         System.out.println(inputDir[i].getName()
                                 + s
                                 + "PASSED (+"
@@ -136,7 +139,7 @@ public final class Checker {
         }
 
         System.out.println("-----------------------------");
-        System.out.println("TOTAL = " + score + "/80");
+        System.out.println("TOTAL = " + score + "/" + maxScore);
     }
 
 
@@ -78,4 +78,13 @@ public final class Constants {
     public static final int AWARDS_ID = 3;
 
     // add any constants you think you may use
+    public static final String PARALLELISM = "videosdb.parallelism";
+    public static final String HEAP_PERCENT = "videosdb.heapPercent";
+    public static final int DEFAULT_HEAP_PERCENT = 60;
+    public static final int PERCENT = 100;
+    public static final int INPUT_MEMORY_FACTOR = 10;
+    public static final int KILOBYTE = 1024;
+    public static final String PARALLEL_ACTIONS = "videosdb.parallelActions";
+    public static final int MAX_PARALLEL_ACTIONS = 4096;
+    public static final String OFF_HEAP_USERS = "videosdb.offHeapUsers";
 }
@@ -0,0 +1,516 @@
+package database;
+
+import common.Constants;
+import entertainment.Genre;
+import fileio.ActorInputData;
+import fileio.MovieInputData;
+import fileio.SerialInputData;
+import fileio.ShowInput;
+import fileio.UserInputData;
+import storage.HeapUserStore;
+import storage.OffHeapArena;
+import storage.OffHeapUserStore;
+import storage.UserStore;
+import utils.IntIntHashMap;
+import utils.IntList;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Indexes the entities of the input by name, so that the actions can find them
+ * without scanning the whole lists
+ */
+public final class Database {
+    /**
+     * Order of the search recommendation: rating, then title, then id
+     */
+    private static final Comparator<ShowInput> RATING_AND_TITLE = Comparator
+            .comparingDouble(ShowInput::getRating)
+            .thenComparing(ShowInput::getTitle)
+            .thenComparingInt(ShowInput::getId);
+    /**
+     * Users by username
+     */
+    private final Map<String, UserInputData> users = new HashMap<>();
+    /**
+     * Actors by name
+     */
+    private final Map<String, ActorInputData> actors = new HashMap<>();
+    /**
+     * Movies by title
+     */
+    private final Map<String, MovieInputData> movies = new HashMap<>();
+    /**
+     * Serials by title
+     */
+    private final Map<String, SerialInputData> serials = new HashMap<>();
+    /**
+     * Movies and then serials, in input order; the position of a video is its id
+     */
+    private final List<ShowInput> shows = new ArrayList<>();
+    /**
+     * Number of movies; the ids of the serials start here
+     */
+    private final int movieCount;
+    /**
+     * Bitmaps of the videos by year and genre
+     */
+    private final ShowIndex showIndex;
+    /**
+     * Genres by total number of views
+     */
+    private final GenreRanking genreRanking;
+    /**
+     * Videos from the best rated to the worst rated, by id when equal
+     */
+    private final NavigableSet<ShowInput> bestRated = new TreeSet<>(Comparator
+            .comparingDouble(ShowInput::getRating).reversed()
+            .thenComparingInt(ShowInput::getId));
+    /**
+     * Videos of every genre from the worst rated to the best rated, by title when equal
+     */
+    private final Map<Genre, NavigableSet<ShowInput>> ratedByGenre = new EnumMap<>(Genre.class);
+    /**
+     * Ids of the titles of the videos, followed by the other titles and keys of the
+     * users' data
+     */
+    private final Dictionary titles = new Dictionary();
+    /**
+     * Title id of every video, by video id
+     */
+    private final int[] showTitles;
+    /**
+     * Ids of the videos having the title, a movie and a serial may share one, for every
+     * title of the catalog
+     */
+    private final int[][] titleShows;
+    /**
+     * Ids of the actors, in input order
+     */
+    private final Dictionary actorNames = new Dictionary();
+    /**
+     * Actors by id
+     */
+    private final List<ActorInputData> actorsById = new ArrayList<>();
+    /**
+     * Total number of views of every title, over all users
+     */
+    private final IntIntHashMap views = new IntIntHashMap();
+    /**
+     * Number of users having every title in their favourite list
+     */
+    private final IntIntHashMap favorites = new IntIntHashMap();
+    /**
+     * Videos starring every actor, movies first, in input order, by actor id
+     */
+    private final List<List<ShowInput>> filmography = new ArrayList<>();
+    /**
+     * Ids of the known actors starring every video, without duplicates, by video id
+     */
+    private final int[][] casts;
+    /**
+     * Actors with an average rating greater than 0
+     */
+    private final Set<ActorInputData> ratedActors = new LinkedHashSet<>();
+    /**
+     * Keywords of the actors' career descriptions
+     */
+    private final DescriptionIndex descriptionIndex;
+    /**
+     * Memory of the users' data when kept outside of the heap, null otherwise
+     */
+    private final OffHeapArena arena;
+
+    public Database(final List<ActorInputData> actors, final List<UserInputData> users,
+                    final List<MovieInputData> movies, final List<SerialInputData> serials) {
+        arena = Boolean.getBoolean(Constants.OFF_HEAP_USERS) ? new OffHeapArena() : null;
+        if (actors != null) {
+            for (ActorInputData actor : actors) {
+                if (this.actors.putIfAbsent(actor.getName(), actor) == null) {
+                    actorNames.intern(actor.getName());
+                    actorsById.add(actor);
+                    filmography.add(new ArrayList<>());
+                }
+            }
+            descriptionIndex = new DescriptionIndex(actors);
+        } else {
+            descriptionIndex = new DescriptionIndex(new ArrayList<>());
+        }
+        if (movies != null) {
+            for (MovieInputData movie : movies) {
+                this.movies.putIfAbsent(movie.getTitle(), movie);
+                addShow(movie);
+            }
+        }
+        movieCount = shows.size();
+        if (serials != null) {
+            for (SerialInputData serial : serials) {
+                this.serials.putIfAbsent(serial.getTitle(), serial);
+                addShow(serial);
+            }
+        }
+
+        showTitles = new int[shows.size()];
+        casts = new int[shows.size()][];
+        for (ShowInput show : shows) {
+            showTitles[show.getId()] = titles.intern(show.getTitle());
+            casts[show.getId()] = addToFilmography(show);
+            addToRatingIndexes(show);
+        }
+        int[] sharing = new int[titles.size()];
+        for (int title : showTitles) {
+            sharing[title]++;
+        }
+        titleShows = new int[titles.size()][];
+        for (int title = 0; title < titleShows.length; title++) {
+            titleShows[title] = new int[sharing[title]];
+            sharing[title] = 0;
+        }
+        for (int id = 0; id < showTitles.length; id++) {
+            int title = showTitles[id];
+            titleShows[title][sharing[title]++] = id;
+        }
+
+        if (users != null) {
+            for (UserInputData user : users) {
+                this.users.putIfAbsent(user.getUsername(), user);
+                user.encode(titles::intern, newUserStore(), this::addFavorite);
+                user.forEachView(views::addTo);
+            }
+        }
+        for (UserInputData user : this.users.values()) {
+            user.forEachView((title, count) -> {
+                if (title < titleShows.length) {
+                    for (int id : titleShows[title]) {
+                        user.markSeen(id);
+                    }
+                }
+            });
+        }
+        showIndex = new ShowIndex(shows, movieCount);
+        genreRanking = new GenreRanking(shows, this::getViews);
+    }
+
+    private UserStore newUserStore() {
+        if (arena != null) {
+            return new OffHeapUserStore(arena);
+        }
+        return new HeapUserStore();
+    }
+
+    private void addShow(final ShowInput show) {
+        show.setId(shows.size());
+        shows.add(show);
+    }
+
+    private int[] addToFilmography(final ShowInput show) {
+        if (show.getCast() == null) {
+            return new int[0];
+        }
+        IntList cast = new IntList();
+        for (String name : show.getCast()) {
+            int actor = actorNames.find(name);
+            if (actor >= 0 && !cast.contains(actor)) {
+                cast.add(actor);
+                filmography.get(actor).add(show);
+            }
+        }
+        int[] ids = new int[cast.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = cast.get(i);
+        }
+        return ids;
+    }
+
+    /**
+     *
+     * @param username username
+     * @return the user with the given username or null
+     */
+    public UserInputData getUser(final String username) {
+        return users.get(username);
+    }
+
+    /**
+     *
+     * @param name actor name
+     * @return the actor with the given name or null
+     */
+    public ActorInputData getActor(final String name) {
+        return actors.get(name);
+    }
+
+    /**
+     *
+     * @param title movie title
+     * @return the movie with the given title or null
+     */
+    public MovieInputData getMovie(final String title) {
+        return movies.get(title);
+    }
+
+    /**
+     *
+     * @param title serial title
+     * @return the serial with the given title or null
+     */
+    public SerialInputData getSerial(final String title) {
+        return serials.get(title);
+    }
+
+    /**
+     *
+     * @param title video title
+     * @return the movie or the serial with the given title or null
+     */
+    public ShowInput getShow(final String title) {
+        MovieInputData movie = movies.get(title);
+        if (movie != null) {
+            return movie;
+        }
+        return serials.get(title);
+    }
+
+    /**
+     *
+     * @param id video id
+     * @return the video with the given id
+     */
+    public ShowInput getShow(final int id) {
+        return shows.get(id);
+    }
+
+    /**
+     *
+     * @return number of movies and serials
+     */
+    public int getShowCount() {
+        return shows.size();
+    }
+
+    /**
+     *
+     * @return number of movies; the movies have the ids below it, the serials the others
+     */
+    public int getMovieCount() {
+        return movieCount;
+    }
+
+    /**
+     *
+     * @param genre genre
+     * @return ids of the videos having the genre; must not be modified
+     */
+    public BitSet getTitlesByGenre(final Genre genre) {
+        return showIndex.getByGenre(genre);
+    }
+
+    /**
+     *
+     * @param movies true for movies, false for serials
+     * @param year release year, 0 for any
+     * @param genre genre, null for any video with at least one genre
+     * @return ids of the matching videos
+     */
+    public BitSet filterShows(final boolean movies, final int year, final Genre genre) {
+        return showIndex.filter(movies, year, genre);
+    }
+
+    /**
+     *
+     * @param title title
+     * @return id of the title, -1 if no video or user data has it
+     */
+    public int findTitle(final String title) {
+        return titles.find(title);
+    }
+
+    /**
+     *
+     * @param title title
+     * @return id of the title, added if it is new
+     */
+    public int internTitle(final String title) {
+        return titles.intern(title);
+    }
+
+    /**
+     *
+     * @param show video
+     * @return total number of views of the video's title
+     */
+    public int getViews(final ShowInput show) {
+        return views.get(showTitles[show.getId()], 0);
+    }
+
+    /**
+     *
+     * @param show video
+     * @return true if at least one user has the video's title in history
+     */
+    public boolean isViewed(final ShowInput show) {
+        return views.containsKey(showTitles[show.getId()]);
+    }
+
+    /**
+     * Counts a new view of a title
+     * @param user user who viewed the title
+     * @param title title id
+     */
+    public void addView(final UserInputData user, final int title) {
+        views.addTo(title, 1);
+        if (title < titleShows.length) {
+            for (int id : titleShows[title]) {
+                user.markSeen(id);
+                genreRanking.addView(shows.get(id));
+            }
+        }
+    }
+
+    /**
+     *
+     * @return genres from the most viewed to the least viewed
+     */
+    public List<Genre> getPopularGenres() {
+        return genreRanking.getGenres();
+    }
+
+    /**
+     *
+     * @param show video
+     * @return number of times the video's title was added as favourite
+     */
+    public int getFavorites(final ShowInput show) {
+        return favorites.get(showTitles[show.getId()], 0);
+    }
+
+    /**
+     * Counts the title as favourite for one more user
+     * @param title title id
+     */
+    public void addFavorite(final int title) {
+        favorites.addTo(title, 1);
+    }
+
+    /**
+     *
+     * @param words keywords
+     * @return actors whose career description contains all the keywords, in input order
+     */
+    public List<ActorInputData> getActorsByDescription(final List<String> words) {
+        return descriptionIndex.find(words);
+    }
+
+    /**
+     *
+     * @return videos from the best rated to the worst rated, by id when equal
+     */
+    public Iterable<ShowInput> getBestRated() {
+        return bestRated;
+    }
+
+    /**
+     *
+     * @param genre genre
+     * @return videos having the genre from the worst rated to the best rated, by title
+     * and then by id when equal
+     */
+    public Iterable<ShowInput> getRatedByGenre(final Genre genre) {
+        NavigableSet<ShowInput> videos = ratedByGenre.get(genre);
+        if (videos == null) {
+            return Collections.emptySet();
+        }
+        return videos;
+    }
+
+    /**
+     *
+     * @return actors with an average rating greater than 0
+     */
+    public Collection<ActorInputData> getRatedActors() {
+        return ratedActors;
+    }
+
+    /**
+     * Rates a movie and updates the average of the actors starring it
+     * @param movie movie
+     * @param grade rating
+     */
+    public void rateMovie(final MovieInputData movie, final double grade) {
+        removeFromRatingIndexes(movie);
+        movie.addRating(grade);
+        addToRatingIndexes(movie);
+        updateActorsRating(movie);
+    }
+
+    /**
+     * Rates a season of a serial and updates the average of the actors starring it
+     * @param serial serial
+     * @param seasonNumber number of the season, starting from 1
+     * @param grade rating
+     */
+    public void rateSeason(final SerialInputData serial, final int seasonNumber,
+                           final double grade) {
+        removeFromRatingIndexes(serial);
+        serial.addRating(seasonNumber, grade);
+        addToRatingIndexes(serial);
+        updateActorsRating(serial);
+    }
+
+    /**
+     * Takes out a video whose rating is about to change from the indexes sorted by rating
+     * @param show video
+     */
+    private void removeFromRatingIndexes(final ShowInput show) {
+        bestRated.remove(show);
+        for (Genre genre : show.getGenreSet()) {
+            ratedByGenre.get(genre).remove(show);
+        }
+    }
+
+    /**
+     * Puts back a video in the indexes sorted by rating, after its rating changed
+     * @param show video
+     */
+    private void addToRatingIndexes(final ShowInput show) {
+        bestRated.add(show);
+        for (Genre genre : show.getGenreSet()) {
+            ratedByGenre.computeIfAbsent(genre, key -> new TreeSet<>(RATING_AND_TITLE))
+                    .add(show);
+        }
+    }
+
+    private void updateActorsRating(final ShowInput show) {
+        for (int id : casts[show.getId()]) {
+            ActorInputData actor = actorsById.get(id);
+            double rating = 0.0;
+            int numberOfMovies = 0;
+            for (ShowInput video : filmography.get(id)) {
+                double r = video.getRating();
+                if (r > 0) {
+                    rating += r;
+                    numberOfMovies++;
+                }
+            }
+            if (numberOfMovies > 0) {
+                actor.setRating(rating / numberOfMovies);
+                ratedActors.add(actor);
+            } else {
+                actor.setRating(0.0);
+                ratedActors.remove(actor);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package database;
+
+import fileio.ActorInputData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index over the career descriptions of the actors.
+ * <p>
+ * A keyword matches a description when it appears in the lower case description
+ * followed by a space, a comma or a dot. The descriptions are split once at those
+ * separators and every suffix of every piece is mapped to the actors containing it,
+ * so a keyword without separators is matched by a single lookup.
+ */
+public final class DescriptionIndex {
+    /**
+     * Characters that may follow a keyword in a description
+     */
+    private static final String SEPARATORS = " ,.";
+    /**
+     * Indexed actors, in input order
+     */
+    private final List<ActorInputData> actors;
+    /**
+     * Lower case descriptions, by actor position
+     */
+    private final String[] descriptions;
+    /**
+     * Sorted actor positions for every suffix of every description piece
+     */
+    private final Map<String, int[]> postings = new HashMap<>();
+
+    public DescriptionIndex(final List<ActorInputData> actors) {
+        this.actors = actors;
+        this.descriptions = new String[actors.size()];
+        Map<String, List<Integer>> lists = new HashMap<>();
+        for (int i = 0; i < actors.size(); i++) {
+            String description = actors.get(i).getCareerDescription();
+            if (description == null) {
+                continue;
+            }
+            descriptions[i] = description.toLowerCase();
+            int start = 0;
+            for (int end = 0; end < descriptions[i].length(); end++) {
+                if (SEPARATORS.indexOf(descriptions[i].charAt(end)) < 0) {
+                    continue;
+                }
+                for (int j = start; j <= end; j++) {
+                    List<Integer> list = lists.computeIfAbsent(descriptions[i]
+                            .substring(j, end), k -> new ArrayList<>());
+                    if (list.isEmpty() || list.get(list.size() - 1) != i) {
+                        list.add(i);
+                    }
+                }
+                start = end + 1;
+            }
+        }
+        for (Map.Entry<String, List<Integer>> entry : lists.entrySet()) {
+            postings.put(entry.getKey(), entry.getValue().stream()
+                    .mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    /**
+     *
+     * @param words keywords
+     * @return actors whose description contains all the keywords, in input order
+     */
+    public List<ActorInputData> find(final List<String> words) {
+        List<int[]> lists = new ArrayList<>();
+        List<String> unindexed = new ArrayList<>();
+        for (String word : words) {
+            String key = word.toLowerCase();
+            if (isIndexed(key)) {
+                lists.add(postings.getOrDefault(key, new int[0]));
+            } else {
+                unindexed.add(key);
+            }
+        }
+        lists.sort(Comparator.comparingInt(list -> list.length));
+
+        int[] positions;
+        int size;
+        if (lists.isEmpty()) {
+            size = actors.size();
+            positions = new int[size];
+            Arrays.setAll(positions, i -> i);
+        } else {
+            positions = lists.get(0).clone();
+            size = positions.length;
+            for (int k = 1; k < lists.size() && size > 0; k++) {
+                size = intersect(positions, size, lists.get(k));
+            }
+        }
+
+        List<ActorInputData> result = new ArrayList<>();
+        for (int k = 0; k < size; k++) {
+            if (containsAll(positions[k], unindexed)) {
+                result.add(actors.get(positions[k]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Keeps in the first list only the positions also found in the second one
+     * @param positions sorted positions, overwritten with the result
+     * @param size number of valid positions
+     * @param other sorted positions
+     * @return number of positions left
+     */
+    private static int intersect(final int[] positions, final int size, final int[] other) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < size && j < other.length; i++) {
+            while (j < other.length && other[j] < positions[i]) {
+                j++;
+            }
+            if (j < other.length && other[j] == positions[i]) {
+                positions[kept++] = positions[i];
+            }
+        }
+        return kept;
+    }
+
+    private static boolean isIndexed(final String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (SEPARATORS.indexOf(word.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean containsAll(final int position, final List<String> words) {
+        String description = descriptions[position];
+        for (String word : words) {
+            if (description == null) {
+                return false;
+            }
+            boolean found = false;
+            for (int i = 0; i < SEPARATORS.length() && !found; i++) {
+                found = description.contains(word + SEPARATORS.charAt(i));
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
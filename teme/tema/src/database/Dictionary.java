@@ -0,0 +1,67 @@
+package database;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns a dense int id to every distinct string, so that the per user data can be
+ * kept in primitive maps and lists and the strings are only needed for output.
+ * <p>
+ * The ids start from 0 and follow the order in which the strings were first added.
+ * The Database adds the titles of its videos first, so the ids below the number of
+ * distinct titles are the titles of the catalog.
+ */
+public final class Dictionary {
+    /**
+     * Id of every string
+     */
+    private final Map<String, Integer> ids = new HashMap<>();
+    /**
+     * String of every id
+     */
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     *
+     * @param name string
+     * @return the id of the string, added if it is new
+     */
+    public int intern(final String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = names.size();
+            ids.put(name, id);
+            names.add(name);
+        }
+        return id;
+    }
+
+    /**
+     *
+     * @param name string
+     * @return the id of the string, -1 if it was never added
+     */
+    public int find(final String name) {
+        Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     *
+     * @param id id of a string
+     * @return the string
+     */
+    public String name(final int id) {
+        return names.get(id);
+    }
+
+    /**
+     *
+     * @return number of strings
+     */
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,105 @@
+package database;
+
+import entertainment.Genre;
+import fileio.ShowInput;
+import utils.Utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Genres ordered by their total number of views, kept sorted as the videos are viewed.
+ * <p>
+ * Genres with the same number of views are ordered by their first appearance in the
+ * database, the last one first. Views only grow, so after a view the genre only needs
+ * to move towards the front, past the genres that it now outranks.
+ */
+public final class GenreRanking {
+    /**
+     * Total number of views of the videos of every genre, by ordinal
+     */
+    private final long[] views = new long[Genre.values().length];
+    /**
+     * Position of the first appearance of every genre in the database, by ordinal
+     */
+    private final int[] firstSeen = new int[Genre.values().length];
+    /**
+     * Genres found in the database, most viewed first
+     */
+    private final Genre[] order;
+    /**
+     * Read-only view of the order
+     */
+    private final List<Genre> orderView;
+
+    public GenreRanking(final List<ShowInput> shows, final ToIntFunction<ShowInput> showViews) {
+        List<Genre> genres = new ArrayList<>();
+        for (ShowInput show : shows) {
+            /* in the order of the list, the set is in the order of the enum */
+            if (show.getGenres() != null) {
+                for (String name : show.getGenres()) {
+                    Genre genre = Utils.stringToGenre(name);
+                    if (genre != null && !genres.contains(genre)) {
+                        firstSeen[genre.ordinal()] = genres.size();
+                        genres.add(genre);
+                    }
+                }
+            }
+            long total = showViews.applyAsInt(show);
+            for (Genre genre : show.getGenreSet()) {
+                views[genre.ordinal()] += total;
+            }
+        }
+        order = genres.toArray(new Genre[0]);
+        Arrays.sort(order, this::compare);
+        orderView = Collections.unmodifiableList(Arrays.asList(order));
+    }
+
+    /**
+     *
+     * @return genres from the most viewed to the least viewed
+     */
+    public List<Genre> getGenres() {
+        return orderView;
+    }
+
+    /**
+     * Counts a new view of a video
+     * @param show viewed video
+     */
+    public void addView(final ShowInput show) {
+        for (Genre genre : show.getGenreSet()) {
+            views[genre.ordinal()]++;
+            int i = indexOf(genre);
+            while (i > 0 && before(order[i], order[i - 1])) {
+                order[i] = order[i - 1];
+                order[i - 1] = genre;
+                i--;
+            }
+        }
+    }
+
+    private int indexOf(final Genre genre) {
+        for (int i = 0; i < order.length; i++) {
+            if (order[i] == genre) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean before(final Genre a, final Genre b) {
+        return compare(a, b) < 0;
+    }
+
+    private int compare(final Genre a, final Genre b) {
+        int c = Long.compare(views[b.ordinal()], views[a.ordinal()]);
+        if (c == 0) {
+            c = Integer.compare(firstSeen[b.ordinal()], firstSeen[a.ordinal()]);
+        }
+        return c;
+    }
+}
@@ -0,0 +1,92 @@
+package database;
+
+import entertainment.Genre;
+import fileio.ShowInput;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bitmaps over the ids of the videos, one for every year and one for every genre.
+ * <p>
+ * The ids are dense, so plain bitsets are already compact, and filtering the videos
+ * of a type by year and genre is the intersection of at most three of them.
+ */
+public final class ShowIndex {
+    /**
+     * Shared empty bitmap, never modified
+     */
+    private static final BitSet EMPTY = new BitSet();
+    /**
+     * Number of movies; the ids of the serials start here
+     */
+    private final int movieCount;
+    /**
+     * Number of videos
+     */
+    private final int showCount;
+    /**
+     * Videos released in every year
+     */
+    private final Map<Integer, BitSet> byYear = new HashMap<>();
+    /**
+     * Videos of every genre
+     */
+    private final Map<Genre, BitSet> byGenre = new EnumMap<>(Genre.class);
+    /**
+     * Videos with at least one genre in the input, known or not
+     */
+    private final BitSet withGenres = new BitSet();
+
+    public ShowIndex(final List<ShowInput> shows, final int movieCount) {
+        this.movieCount = movieCount;
+        this.showCount = shows.size();
+        for (ShowInput show : shows) {
+            int id = show.getId();
+            byYear.computeIfAbsent(show.getYear(), k -> new BitSet()).set(id);
+            for (Genre genre : show.getGenreSet()) {
+                byGenre.computeIfAbsent(genre, k -> new BitSet()).set(id);
+            }
+            if (show.getGenres() != null && !show.getGenres().isEmpty()) {
+                withGenres.set(id);
+            }
+        }
+    }
+
+    /**
+     *
+     * @param genre genre
+     * @return ids of the videos having the genre; must not be modified
+     */
+    public BitSet getByGenre(final Genre genre) {
+        return byGenre.getOrDefault(genre, EMPTY);
+    }
+
+    /**
+     *
+     * @param movies true for movies, false for serials
+     * @param year release year, 0 for any
+     * @param genre genre, null for any video with at least one genre
+     * @return ids of the matching videos
+     */
+    public BitSet filter(final boolean movies, final int year, final Genre genre) {
+        BitSet result = new BitSet(showCount);
+        if (movies) {
+            result.set(0, movieCount);
+        } else {
+            result.set(movieCount, showCount);
+        }
+        if (year != 0) {
+            result.and(byYear.getOrDefault(year, EMPTY));
+        }
+        if (genre != null) {
+            result.and(getByGenre(genre));
+        } else {
+            result.and(withGenres);
+        }
+        return result;
+    }
+}
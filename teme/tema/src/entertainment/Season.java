@@ -1,8 +1,5 @@
 package entertainment;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Information about a season of a tv show
  * <p>
@@ -18,14 +15,17 @@ public final class Season {
      */
     private int duration;
     /**
-     * List of ratings for each season
+     * Sum of the ratings given to the season
+     */
+    private double ratingSum;
+    /**
+     * Number of ratings given to the season
      */
-    private List<Double> ratings;
+    private int ratingCount;
 
     public Season(final int currentSeason, final int duration) {
         this.currentSeason = currentSeason;
         this.duration = duration;
-        this.ratings = new ArrayList<>();
     }
 
     public int getDuration() {
@@ -36,32 +36,21 @@ public final class Season {
         this.duration = duration;
     }
 
-    public List<Double> getRatings() {
-        return ratings;
-    }
-
     /**
      *
      * @param rating
      */
-    public void addRating(final Double rating) {
-        this.ratings.add(rating);
+    public void addRating(final double rating) {
+        ratingSum += rating;
+        ratingCount++;
     }
 
     /**
      *
      * @return
      */
-    public Double getRating() {
-        Double rating = 0.0;
-        for (Double r : getRatings()) {
-            rating += r;
-        }
-        return rating / getRatings().size();
-    }
-
-    public void setRatings(final List<Double> ratings) {
-        this.ratings = ratings;
+    public double getRating() {
+        return ratingSum / ratingCount;
     }
 
     @Override
@@ -1,8 +1,10 @@
 package fileio;
 
 import actor.ActorsAwards;
+import utils.Utils;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
@@ -26,23 +28,58 @@ public final class ActorInputData {
     /**
      * awards won by the actor
      */
-    private Map<ActorsAwards, Integer> awards;
-    private Double rating;
+    private final Map<ActorsAwards, Integer> awards;
+    /**
+     * total number of awards won by the actor
+     */
+    private final int awardsCount;
+    /**
+     * one bit set for every type of award won by the actor
+     */
+    private final int awardsMask;
+    /**
+     * average rating of the rated videos starring actor
+     */
+    private double rating;
 
     public ActorInputData(final String name, final String careerDescription,
                           final ArrayList<String> filmography,
                           final Map<ActorsAwards, Integer> awards) {
+        this(name, careerDescription, filmography, awards, 0);
+    }
+
+    /**
+     * @param name name of the actor
+     * @param careerDescription description of the career
+     * @param filmography titles starring the actor
+     * @param awards awards of the known types
+     * @param otherAwards number of awards of the unknown types, only counted in the total
+     */
+    public ActorInputData(final String name, final String careerDescription,
+                          final ArrayList<String> filmography,
+                          final Map<ActorsAwards, Integer> awards, final int otherAwards) {
         this.name = name;
         this.careerDescription = careerDescription;
         this.filmography = filmography;
-        this.awards = awards;
+        this.awards = new EnumMap<>(ActorsAwards.class);
+        int count = otherAwards;
+        int mask = 0;
+        if (awards != null) {
+            this.awards.putAll(awards);
+            for (Map.Entry<ActorsAwards, Integer> award : this.awards.entrySet()) {
+                count += award.getValue();
+                mask |= Utils.awardBit(award.getKey());
+            }
+        }
+        this.awardsCount = count;
+        this.awardsMask = mask;
     }
 
-    public Double getRating() {
+    public double getRating() {
         return rating;
     }
 
-    public void setRating(final Double rating) {
+    public void setRating(final double rating) {
         this.rating = rating;
     }
 
@@ -66,6 +103,14 @@ public final class ActorInputData {
         return awards;
     }
 
+    public int getAwardsCount() {
+        return awardsCount;
+    }
+
+    public int getAwardsMask() {
+        return awardsMask;
+    }
+
     public String getCareerDescription() {
         return careerDescription;
     }
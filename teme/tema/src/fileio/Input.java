@@ -1,5 +1,7 @@
 package fileio;
 
+import database.Database;
+
 import java.util.List;
 
 /**
@@ -28,6 +30,10 @@ public final class Input {
      * List of serials aka tv shows
      */
     private final List<SerialInputData> serialsData;
+    /**
+     * Lookup tables built over the lists above
+     */
+    private final Database database;
 
     public Input() {
         this.actorsData = null;
@@ -35,6 +41,7 @@ public final class Input {
         this.commandsData = null;
         this.moviesData = null;
         this.serialsData = null;
+        this.database = new Database(null, null, null, null);
     }
 
     public Input(final List<ActorInputData> actors, final List<UserInputData> users,
@@ -46,6 +53,7 @@ public final class Input {
         this.commandsData = commands;
         this.moviesData = movies;
         this.serialsData = serials;
+        this.database = new Database(actors, users, movies, serials);
     }
 
     public List<ActorInputData> getActors() {
@@ -67,4 +75,8 @@ public final class Input {
     public List<SerialInputData> getSerials() {
         return serialsData;
     }
+
+    public Database getDatabase() {
+        return database;
+    }
 }
@@ -60,13 +60,15 @@ public final class InputLoader {
 
             if (jsonActors != null) {
                 for (Object jsonActor : jsonActors) {
+                    JSONArray jsonAwards = (JSONArray) ((JSONObject) jsonActor)
+                            .get(Constants.AWARDS);
                     actors.add(new ActorInputData(
                             (String) ((JSONObject) jsonActor).get(Constants.NAME),
                             (String) ((JSONObject) jsonActor).get(Constants.DESCRIPTION),
                             Utils.convertJSONArray((JSONArray) ((JSONObject) jsonActor)
                                     .get(Constants.FILMOGRAPHY)),
-                            Utils.convertAwards((JSONArray) ((JSONObject) jsonActor)
-                                    .get(Constants.AWARDS))
+                            Utils.convertAwards(jsonAwards),
+                            Utils.otherAwards(jsonAwards)
                     ));
                 }
             } else {
@@ -12,37 +12,44 @@ public final class MovieInputData extends ShowInput {
      * Duration in minutes of a season
      */
     private final int duration;
-    private final ArrayList<Double> rating;
+    /**
+     * Sum of the positive ratings given to the movie
+     */
+    private double ratingSum;
+    /**
+     * Number of ratings given to the movie
+     */
+    private int ratingCount;
 
     public MovieInputData(final String title, final ArrayList<String> cast,
                           final ArrayList<String> genres, final int year,
                           final int duration) {
         super(title, year, cast, genres);
         this.duration = duration;
-        this.rating = new ArrayList<>();
     }
 
     public int getDuration() {
         return duration;
     }
 
-    public ArrayList<Double> getRatings() {
-        return rating;
+    /**
+     *
+     * @param rating new rating of the movie
+     */
+    public void addRating(final double rating) {
+        if (rating > 0) {
+            ratingSum += rating;
+        }
+        ratingCount++;
     }
 
     /**
      *
      * @return
      */
-    public Double getRating() {
-        Double rate = 0.0;
-        for (Double r : getRatings()) {
-            if (r > 0) {
-                rate += r;
-            }
-        }
-        if (rate > 0.0) {
-            return rate / getRatings().size();
+    public double getRating() {
+        if (ratingSum > 0.0) {
+            return ratingSum / ratingCount;
         }
         return 0.0;
     }
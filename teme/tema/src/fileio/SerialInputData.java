@@ -18,6 +18,10 @@ public final class SerialInputData extends ShowInput {
      * Season list
      */
     private final ArrayList<Season> seasons;
+    /**
+     * Average of the rated seasons, updated on every new rating
+     */
+    private double rating;
 
     public SerialInputData(final String title, final ArrayList<String> cast,
                            final ArrayList<String> genres,
@@ -52,18 +56,29 @@ public final class SerialInputData extends ShowInput {
      *
      * @return
      */
-    public Double getRating() {
-        double rating = 0.0;
-        for (Season season : getSeasons()) {
+    public double getRating() {
+        return rating;
+    }
+
+    /**
+     * Rates a season and updates the rating of the serial
+     * @param seasonNumber number of the season, starting from 1
+     * @param grade new rating of the season
+     */
+    public void addRating(final int seasonNumber, final double grade) {
+        seasons.get(seasonNumber - 1).addRating(grade);
+        double sum = 0.0;
+        for (Season season : seasons) {
             double r = season.getRating();
             if (r > 0) {
-                rating += r;
+                sum += r;
             }
         }
-        if (rating > 0) {
-            return rating / seasons.size();
+        if (sum > 0) {
+            rating = sum / seasons.size();
+        } else {
+            rating = 0.0;
         }
-        return 0.0;
     }
 
     public ArrayList<Season> getSeasons() {
@@ -1,6 +1,11 @@
 package fileio;
 
+import entertainment.Genre;
+import utils.Utils;
+
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * General information about show (video), retrieved from parsing the input test files
@@ -24,6 +29,14 @@ public abstract class ShowInput {
      * Show genres
      */
     private final ArrayList<String> genres;
+    /**
+     * Show genres converted to enums, without the unknown ones
+     */
+    private final Set<Genre> genreSet = EnumSet.noneOf(Genre.class);
+    /**
+     * Position of the show in the database, movies first
+     */
+    private int id;
 
     public ShowInput(final String title, final int year,
                      final ArrayList<String> cast, final ArrayList<String> genres) {
@@ -31,6 +44,14 @@ public abstract class ShowInput {
         this.year = year;
         this.cast = cast;
         this.genres = genres;
+        if (genres != null) {
+            for (String genre : genres) {
+                Genre g = Utils.stringToGenre(genre);
+                if (g != null) {
+                    genreSet.add(g);
+                }
+            }
+        }
     }
 
     /**
@@ -45,7 +66,7 @@ public abstract class ShowInput {
      *
      * @return
      */
-    public Double getRating() {
+    public double getRating() {
         return 0.0;
     }
 
@@ -64,4 +85,16 @@ public abstract class ShowInput {
     public final ArrayList<String> getGenres() {
         return genres;
     }
+
+    public final Set<Genre> getGenreSet() {
+        return genreSet;
+    }
+
+    public final int getId() {
+        return id;
+    }
+
+    public final void setId(final int id) {
+        this.id = id;
+    }
 }
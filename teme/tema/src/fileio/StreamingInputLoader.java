@@ -0,0 +1,441 @@
+package fileio;
+
+import actor.ActorsAwards;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import common.Constants;
+import entertainment.Season;
+import utils.Utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the tests like InputLoader, but builds the objects while reading the tokens
+ * of the file, without holding the whole JSON document in memory
+ */
+public final class StreamingInputLoader {
+    /**
+     * Shared factory of the parsers
+     */
+    private static final JsonFactory FACTORY = new JsonFactory();
+    /**
+     * The path to the input file
+     */
+    private final String inputPath;
+    /**
+     * Lists read so far, null while missing from the file
+     */
+    private List<ActorInputData> actors;
+    private List<UserInputData> users;
+    private List<MovieInputData> movies;
+    private List<SerialInputData> serials;
+    private List<RawAction> rawActions;
+
+    public StreamingInputLoader(final String inputPath) {
+        this.inputPath = inputPath;
+    }
+
+    public String getInputPath() {
+        return inputPath;
+    }
+
+    /**
+     * The method reads the database
+     * @return an Input object
+     */
+    public Input readData() {
+        actors = null;
+        users = null;
+        movies = null;
+        serials = null;
+        rawActions = null;
+        List<ActionInputData> actions = null;
+
+        try (JsonParser parser = FACTORY.createParser(new File(inputPath))) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case Constants.DATABASE -> readDatabase(parser);
+                    case Constants.ACTIONS -> rawActions = readActions(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if (actors == null) {
+                System.out.println("NU EXISTA ACTORI");
+            }
+            if (users == null) {
+                System.out.println("NU EXISTA UTILIZATORI");
+            }
+            if (serials == null) {
+                System.out.println("NU EXISTA SERIALE");
+            }
+            if (movies == null) {
+                System.out.println("NU EXISTA FILME");
+            }
+            actions = createActions(Math.max(Math.max(size(movies) + size(serials),
+                    size(users)), size(actors)));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        return new Input(actors, users, actions, movies, serials);
+    }
+
+    private static int size(final List<?> list) {
+        if (list == null) {
+            return 0;
+        }
+        return list.size();
+    }
+
+    private void readDatabase(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case Constants.ACTORS -> {
+                    actors = new ArrayList<>();
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        actors.add(readActor(parser));
+                    }
+                }
+                case Constants.USERS -> {
+                    users = new ArrayList<>();
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        users.add(readUser(parser));
+                    }
+                }
+                case Constants.MOVIES -> {
+                    movies = new ArrayList<>();
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        movies.add(readMovie(parser));
+                    }
+                }
+                case Constants.SHOWS -> {
+                    serials = new ArrayList<>();
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        serials.add(readSerial(parser));
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static ActorInputData readActor(final JsonParser parser) throws IOException {
+        String name = null;
+        String description = null;
+        ArrayList<String> filmography = null;
+        Map<ActorsAwards, Integer> awards = new EnumMap<>(ActorsAwards.class);
+        int otherAwards = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case Constants.NAME -> name = text(parser);
+                case Constants.DESCRIPTION -> description = text(parser);
+                case Constants.FILMOGRAPHY -> filmography = readStrings(parser);
+                case Constants.AWARDS -> otherAwards = readAwards(parser, awards);
+                default -> parser.skipChildren();
+            }
+        }
+        return new ActorInputData(name, description, filmography, awards, otherAwards);
+    }
+
+    /**
+     * Reads the awards of the known types into the map
+     * @param parser parser at the array of the awards
+     * @param awards map receiving the awards
+     * @return number of awards of the last unknown type, like Utils.otherAwards
+     */
+    private static int readAwards(final JsonParser parser,
+                                  final Map<ActorsAwards, Integer> awards) throws IOException {
+        int other = 0;
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return other;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String type = null;
+            String number = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case Constants.AWARD_TYPE -> type = text(parser);
+                    case Constants.NUMBER_OF_AWARDS -> number = text(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            ActorsAwards award = Utils.stringToAwards(type);
+            if (award != null) {
+                awards.put(award, Integer.parseInt(number));
+            } else {
+                other = Integer.parseInt(number);
+            }
+        }
+        return other;
+    }
+
+    private static UserInputData readUser(final JsonParser parser) throws IOException {
+        String username = null;
+        String subscription = null;
+        Map<String, Integer> history = null;
+        ArrayList<String> favorites = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case Constants.USERNAME -> username = text(parser);
+                case Constants.SUBSCRIPTION -> subscription = text(parser);
+                case Constants.HISTORY -> history = readHistory(parser);
+                case Constants.FAVORITE_MOVIES -> favorites = readStrings(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        if (history == null) {
+            System.out.println("NU ESTE VIZIONAT NICIUN FILM");
+            history = new LinkedHashMap<>();
+        }
+        return new UserInputData(username, subscription, history, favorites);
+    }
+
+    private static Map<String, Integer> readHistory(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        Map<String, Integer> history = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String name = null;
+            String views = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case Constants.NAME -> name = text(parser);
+                    case Constants.NUMBER_VIEWS -> views = text(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            history.put(name, Integer.parseInt(views));
+        }
+        return history;
+    }
+
+    private static MovieInputData readMovie(final JsonParser parser) throws IOException {
+        String name = null;
+        ArrayList<String> cast = null;
+        ArrayList<String> genres = null;
+        String year = null;
+        String duration = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case Constants.NAME -> name = text(parser);
+                case Constants.ACTORS -> cast = readStrings(parser);
+                case Constants.GENRES -> genres = readStrings(parser);
+                case Constants.YEAR -> year = text(parser);
+                case Constants.DURATION -> duration = text(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new MovieInputData(name, cast, genres, Integer.parseInt(year),
+                Integer.parseInt(duration));
+    }
+
+    private static SerialInputData readSerial(final JsonParser parser) throws IOException {
+        String name = null;
+        ArrayList<String> cast = null;
+        ArrayList<String> genres = null;
+        String numberOfSeasons = null;
+        ArrayList<Season> seasons = null;
+        String year = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case Constants.NAME -> name = text(parser);
+                case Constants.CAST -> cast = readStrings(parser);
+                case Constants.GENRES -> genres = readStrings(parser);
+                case Constants.NUMBER_OF_SEASONS -> numberOfSeasons = text(parser);
+                case Constants.SEASONS -> seasons = readSeasons(parser);
+                case Constants.YEAR -> year = text(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new SerialInputData(name, cast, genres, Integer.parseInt(numberOfSeasons),
+                seasons, Integer.parseInt(year));
+    }
+
+    private static ArrayList<Season> readSeasons(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        ArrayList<Season> seasons = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String currentSeason = null;
+            String duration = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case Constants.CURRENT_SEASON -> currentSeason = text(parser);
+                    case Constants.DURATION -> duration = text(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            seasons.add(new Season(Integer.parseInt(currentSeason),
+                    Integer.parseInt(duration)));
+        }
+        return seasons;
+    }
+
+    private static List<RawAction> readActions(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<RawAction> actions = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            RawAction action = new RawAction();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case Constants.ID -> action.id = text(parser);
+                    case Constants.ACTION_TYPE -> action.actionType = text(parser);
+                    case Constants.TYPE -> action.type = text(parser);
+                    case Constants.USER -> action.user = text(parser);
+                    case Constants.USERNAME -> action.username = text(parser);
+                    case Constants.TITLE -> action.title = text(parser);
+                    case Constants.GENRE -> action.genre = text(parser);
+                    case Constants.OBJECT -> action.objectType = text(parser);
+                    case Constants.SORT -> action.sortType = text(parser);
+                    case Constants.CRITERIA -> action.criteria = text(parser);
+                    case Constants.NUMBER -> action.number = text(parser);
+                    case Constants.GRADE -> action.grade = text(parser);
+                    case Constants.SEASON -> action.season = text(parser);
+                    case Constants.FILTERS -> readFilters(parser, action);
+                    default -> parser.skipChildren();
+                }
+            }
+            actions.add(action);
+        }
+        return actions;
+    }
+
+    private static void readFilters(final JsonParser parser,
+                                    final RawAction action) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case Constants.GENRE -> action.filterGenre = text(parser);
+                case Constants.YEAR -> action.filterYear = text(parser);
+                case Constants.AWARDS -> action.awards = readStrings(parser);
+                case Constants.WORDS -> action.words = readStrings(parser);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private List<ActionInputData> createActions(final int size) {
+        if (rawActions == null) {
+            System.out.println("NU EXISTA COMENZI");
+            return null;
+        }
+        List<ActionInputData> actions = new ArrayList<>(rawActions.size());
+        for (RawAction action : rawActions) {
+            int id = Integer.parseInt(action.id);
+            switch (action.actionType) {
+                case Constants.COMMAND -> actions.add(new ActionInputData(id,
+                        action.actionType, action.type, action.user, action.title,
+                        action.grade == null ? 0 : Double.parseDouble(action.grade),
+                        action.season == null ? 0 : Integer.parseInt(action.season)));
+                case Constants.QUERY -> actions.add(new ActionInputData(id,
+                        action.actionType, action.objectType, action.filterGenre,
+                        action.sortType, action.criteria, action.filterYear,
+                        action.number == null ? size : Integer.parseInt(action.number),
+                        action.words, action.awards));
+                case Constants.RECOMMENDATION -> actions.add(new ActionInputData(id,
+                        action.actionType, action.type, action.username, action.genre));
+                default -> {
+                }
+            }
+        }
+        rawActions = null;
+        return actions;
+    }
+
+    /**
+     *
+     * @param parser parser positioned on a value
+     * @return the text of the value or null for a JSON null
+     * @throws IOException in case of exceptions to reading
+     */
+    private static String text(final JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return parser.getText();
+    }
+
+    private static ArrayList<String> readStrings(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        ArrayList<String> strings = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            strings.add(text(parser));
+        }
+        return strings;
+    }
+
+    /**
+     * Fields of an action, kept until the size of the database is known
+     */
+    private static final class RawAction {
+        private String id;
+        private String actionType;
+        private String type;
+        private String user;
+        private String username;
+        private String title;
+        private String genre;
+        private String objectType;
+        private String sortType;
+        private String criteria;
+        private String number;
+        private String grade;
+        private String season;
+        private String filterGenre;
+        private String filterYear;
+        private List<String> words;
+        private List<String> awards;
+    }
+}
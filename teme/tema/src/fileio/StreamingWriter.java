@@ -0,0 +1,120 @@
+package fileio;
+
+import common.Constants;
+import org.json.simple.JSONValue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes the output like Writer, but sends every result to the file as soon as it
+ * is known instead of keeping all of them in a JSONArray.
+ * <p>
+ * The results are encoded into a fixed size buffer which is flushed to a FileChannel
+ * whenever it fills up, so the memory used does not depend on the number of results.
+ */
+public final class StreamingWriter implements Closeable {
+    /**
+     * Size of the output buffer in bytes
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /**
+     * The file where the data will be written
+     */
+    private final FileChannel channel;
+    /**
+     * Encoded bytes not yet written to the file
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    /**
+     * Same charset as the FileWriter used by Writer
+     */
+    private final CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    /**
+     * Text of the current result
+     */
+    private final StringBuilder text = new StringBuilder();
+    /**
+     * True until the first result is written
+     */
+    private boolean first = true;
+
+    public StreamingWriter(final String path) throws IOException {
+        this.channel = FileChannel.open(Paths.get(path), StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        text.append('[');
+    }
+
+    /**
+     * Writes the result of an action
+     *
+     * @param id      of the action
+     * @param message to be written
+     * @throws IOException in case of exceptions to writing
+     */
+    public void write(final int id, final String message) throws IOException {
+        if (!first) {
+            text.append(',');
+        }
+        first = false;
+        text.append("{\"").append(Constants.ID_STRING).append("\":").append(id)
+                .append(",\"").append(Constants.MESSAGE).append("\":");
+        if (message == null) {
+            text.append("null");
+        } else {
+            text.append('"').append(JSONValue.escape(message)).append('"');
+        }
+        text.append('}');
+        encode(false);
+    }
+
+    /**
+     * Ends the JSON array, writes everything left and closes the file
+     *
+     * @throws IOException in case of exceptions to writing
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            text.append(']');
+            encode(true);
+            while (encoder.flush(buffer) == CoderResult.OVERFLOW) {
+                drain();
+            }
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void encode(final boolean endOfInput) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(text);
+        while (encoder.encode(chars, buffer, endOfInput) == CoderResult.OVERFLOW) {
+            drain();
+        }
+        text.setLength(0);
+        if (chars.hasRemaining()) {
+            /* half of a surrogate pair, completed by the next result */
+            text.append(chars);
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
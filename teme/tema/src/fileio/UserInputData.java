@@ -1,7 +1,12 @@
 package fileio;
 
+import storage.UserStore;
+
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
 
 /**
  * Information about an user, retrieved from parsing the input test files
@@ -18,15 +23,21 @@ public final class UserInputData {
      */
     private final String subscriptionType;
     /**
-     * The history of the movies seen
+     * The history of the movies seen, by title, until the titles get their ids
      */
-    private final Map<String, Integer> history;
+    private Map<String, Integer> history;
     /**
-     * Movies added to favorites
+     * Movies added to favorites, until the titles get their ids
      */
-    private final ArrayList<String> favoriteMovies;
-
-    private ArrayList<String> ratedMovies;
+    private ArrayList<String> favoriteMovies;
+    /**
+     * History, favorites and ratings by title id, set when the titles get their ids
+     */
+    private UserStore store;
+    /**
+     * Ids of the videos of the database found in the history
+     */
+    private final BitSet seenTitles = new BitSet();
 
     public UserInputData(final String username, final String subscriptionType,
                          final Map<String, Integer> history,
@@ -35,49 +46,176 @@ public final class UserInputData {
         this.subscriptionType = subscriptionType;
         this.favoriteMovies = favoriteMovies;
         this.history = history;
-        this.ratedMovies = new ArrayList<>();
     }
 
-    public void setRatedMovies(final ArrayList<String> ratedMovies) {
-        this.ratedMovies = ratedMovies;
+    /**
+     * Moves the history and the favorites to a store, replacing the titles with their
+     * ids; the strings are not kept
+     * @param ids gives the id of a title
+     * @param userStore empty store keeping the data of the user from now on
+     * @param listed receives every favorite of the input, repeated ones included, since
+     *               the store keeps each title once
+     */
+    public void encode(final ToIntFunction<String> ids, final UserStore userStore,
+                       final IntConsumer listed) {
+        store = userStore;
+        if (history != null) {
+            for (Map.Entry<String, Integer> entry : history.entrySet()) {
+                store.addViews(ids.applyAsInt(entry.getKey()), entry.getValue());
+            }
+            history = null;
+        }
+        if (favoriteMovies != null) {
+            for (String title : favoriteMovies) {
+                int id = ids.applyAsInt(title);
+                store.addFavorite(id);
+                listed.accept(id);
+            }
+            favoriteMovies = null;
+        }
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getSubscriptionType() {
+        return subscriptionType;
+    }
+
+    /**
+     * Visits the history, in no particular order
+     * @param consumer receives every title id and its number of views
+     */
+    public void forEachView(final UserStore.ViewConsumer consumer) {
+        store.forEachView(consumer);
     }
 
     /**
      *
-     * @param movie add string movie title to favourites
+     * @param title title id
+     * @return number of views of the title, 0 if it is not in the history
      */
-    public void addToFavourite(final String movie) {
-        favoriteMovies.add(movie);
+    public int getViews(final int title) {
+        return store.getViews(title);
     }
 
-    public String getUsername() {
-        return username;
+    /**
+     *
+     * @param title title id
+     * @return true if the title is in the history
+     */
+    public boolean hasViewed(final int title) {
+        return store.hasViewed(title);
     }
 
-    public Map<String, Integer> getHistory() {
-        return history;
+    /**
+     * Adds a view of the title to the history
+     * @param title title id
+     * @return the number of views of the title
+     */
+    public int addView(final int title) {
+        return store.addViews(title, 1);
     }
 
-    public String getSubscriptionType() {
-        return subscriptionType;
+    /**
+     *
+     * @return number of titles added to favorites
+     */
+    public int getFavoritesCount() {
+        return store.getFavoritesCount();
+    }
+
+    /**
+     *
+     * @param index position in the favorites, in insertion order
+     * @return id of the title added to favorites in that position
+     */
+    public int getFavorite(final int index) {
+        return store.getFavorite(index);
     }
 
-    public ArrayList<String> getFavoriteMovies() {
-        return favoriteMovies;
+    /**
+     *
+     * @param title title id
+     * @return true if the title is in the favorites
+     */
+    public boolean isFavorite(final int title) {
+        return store.isFavorite(title);
+    }
+
+    /**
+     * Adds a title at the end of the favorites
+     * @param title title id
+     * @return true if the title was not in the favorites
+     */
+    public boolean addFavorite(final int title) {
+        return store.addFavorite(title);
     }
 
-    public ArrayList<String> getRatedMovies() {
-        return ratedMovies;
+    /**
+     *
+     * @return number of ratings given by the user
+     */
+    public int getRatingsCount() {
+        return store.getRatingsCount();
     }
 
+    /**
+     *
+     * @param key title id and season number, as packed by Utils.ratingKey
+     * @return true if the user already rated the video or the season
+     */
+    public boolean hasRated(final long key) {
+        return store.hasRated(key);
+    }
 
+    /**
+     *
+     * @param key title id and season number of the rated video or season
+     */
+    public void addRating(final long key) {
+        store.addRating(key);
+    }
+
+    /**
+     *
+     * @return ids of the seen videos; must not be modified
+     */
+    public BitSet getSeenTitles() {
+        return seenTitles;
+    }
+
+    /**
+     *
+     * @param id id of a video added to the history
+     */
+    public void markSeen(final int id) {
+        seenTitles.set(id);
+    }
+
+    /**
+     *
+     * @param id video id
+     * @return true if the video is in the history
+     */
+    public boolean hasSeen(final int id) {
+        return seenTitles.get(id);
+    }
 
     @Override
     public String toString() {
+        if (store == null) {
+            return "UserInputData{" + "username='"
+                    + username + '\'' + ", subscriptionType='"
+                    + subscriptionType + '\'' + ", history="
+                    + history + ", favoriteMovies="
+                    + favoriteMovies + '}';
+        }
         return "UserInputData{" + "username='"
                 + username + '\'' + ", subscriptionType='"
                 + subscriptionType + '\'' + ", history="
-                + history + ", favoriteMovies="
-                + favoriteMovies + '}';
+                + store.getHistoryCount() + " titles, favoriteMovies="
+                + store.getFavoritesCount() + " titles}";
     }
 }
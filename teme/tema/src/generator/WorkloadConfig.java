@@ -0,0 +1,181 @@
+package generator;
+
+import java.util.Locale;
+
+/**
+ * Sizes and proportions of a generated workload, read from "name=value" arguments.
+ * <p>
+ * Every setting has a default, so only the ones that differ need to be given, e.g.
+ * {@code users=1000000 movies=200000 actions=50000000 mix=60:30:10 out=big.json}.
+ */
+public final class WorkloadConfig {
+    /**
+     * Default sizes, about the size of the largest bundled test
+     */
+    private static final int DEFAULT_USERS = 150;
+    private static final int DEFAULT_ACTORS = 400;
+    private static final int DEFAULT_MOVIES = 150;
+    private static final int DEFAULT_SERIALS = 50;
+    private static final int DEFAULT_SEASONS = 5;
+    private static final int DEFAULT_ACTIONS = 1000;
+    private static final int DEFAULT_HISTORY = 20;
+    private static final int DEFAULT_FAVORITES = 5;
+    private static final int DEFAULT_CAST = 5;
+    private static final int DEFAULT_COMMANDS = 50;
+    private static final int DEFAULT_QUERIES = 30;
+    private static final int DEFAULT_RECOMMENDATIONS = 20;
+    private static final double DEFAULT_PREMIUM = 0.5;
+    private static final long DEFAULT_SEED = 42;
+
+    private int users = DEFAULT_USERS;
+    private int actors = DEFAULT_ACTORS;
+    private int movies = DEFAULT_MOVIES;
+    private int serials = DEFAULT_SERIALS;
+    private int seasons = DEFAULT_SEASONS;
+    private long actions = DEFAULT_ACTIONS;
+    private int history = DEFAULT_HISTORY;
+    private int favorites = DEFAULT_FAVORITES;
+    private int cast = DEFAULT_CAST;
+    private double zipf = 1.0;
+    private int commands = DEFAULT_COMMANDS;
+    private int queries = DEFAULT_QUERIES;
+    private int recommendations = DEFAULT_RECOMMENDATIONS;
+    private double premium = DEFAULT_PREMIUM;
+    private long seed = DEFAULT_SEED;
+    private String out = "generated.json";
+
+    /**
+     * @param args settings as "name=value"
+     * @return the configuration with the given settings and the defaults for the others
+     */
+    public static WorkloadConfig parse(final String[] args) {
+        WorkloadConfig config = new WorkloadConfig();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected name=value, got " + arg);
+            }
+            config.set(arg.substring(0, separator).trim().toLowerCase(Locale.ROOT),
+                    arg.substring(separator + 1).trim());
+        }
+        config.check();
+        return config;
+    }
+
+    private void set(final String name, final String value) {
+        switch (name) {
+            case "users" -> users = Integer.parseInt(value);
+            case "actors" -> actors = Integer.parseInt(value);
+            case "movies" -> movies = Integer.parseInt(value);
+            case "serials" -> serials = Integer.parseInt(value);
+            case "seasons" -> seasons = Integer.parseInt(value);
+            case "actions" -> actions = Long.parseLong(value);
+            case "history" -> history = Integer.parseInt(value);
+            case "favorites" -> favorites = Integer.parseInt(value);
+            case "cast" -> cast = Integer.parseInt(value);
+            case "zipf" -> zipf = Double.parseDouble(value);
+            case "mix" -> {
+                String[] parts = value.split(":");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException(
+                            "mix must be commands:queries:recommendations, got " + value);
+                }
+                commands = Integer.parseInt(parts[0]);
+                queries = Integer.parseInt(parts[1]);
+                recommendations = Integer.parseInt(parts[2]);
+            }
+            case "premium" -> premium = Double.parseDouble(value);
+            case "seed" -> seed = Long.parseLong(value);
+            case "out" -> out = value;
+            default -> throw new IllegalArgumentException("Unknown setting " + name);
+        }
+    }
+
+    private void check() {
+        if (users < 1 || actors < 1 || movies + serials < 1 || seasons < 1) {
+            throw new IllegalArgumentException(
+                    "users, actors, seasons and movies + serials must be at least 1");
+        }
+        if (actions < 0 || history < 0 || favorites < 0 || cast < 0) {
+            throw new IllegalArgumentException("Counts must not be negative");
+        }
+        if ((long) history * 2 > (long) movies + serials) {
+            throw new IllegalArgumentException("Histories have up to 2 * history titles, so"
+                    + " history must be at most (movies + serials) / 2");
+        }
+        if (zipf <= 0) {
+            throw new IllegalArgumentException("zipf must be greater than 0");
+        }
+        if (commands < 0 || queries < 0 || recommendations < 0
+                || commands + queries + recommendations == 0) {
+            throw new IllegalArgumentException("mix needs a positive total");
+        }
+        if (premium < 0 || premium > 1) {
+            throw new IllegalArgumentException("premium must be between 0 and 1");
+        }
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getActors() {
+        return actors;
+    }
+
+    public int getMovies() {
+        return movies;
+    }
+
+    public int getSerials() {
+        return serials;
+    }
+
+    public int getSeasons() {
+        return seasons;
+    }
+
+    public long getActions() {
+        return actions;
+    }
+
+    public int getHistory() {
+        return history;
+    }
+
+    public int getFavorites() {
+        return favorites;
+    }
+
+    public int getCast() {
+        return cast;
+    }
+
+    public double getZipf() {
+        return zipf;
+    }
+
+    public int getCommands() {
+        return commands;
+    }
+
+    public int getQueries() {
+        return queries;
+    }
+
+    public int getRecommendations() {
+        return recommendations;
+    }
+
+    public double getPremium() {
+        return premium;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getOut() {
+        return out;
+    }
+}
@@ -0,0 +1,486 @@
+package generator;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import common.Constants;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a synthetic test in the schema read by InputLoader and StreamingInputLoader,
+ * as large as needed for load testing.
+ * <p>
+ * The titles, users and actors are drawn with Zipfian popularity, so a few titles get
+ * most of the views, favorites and ratings and a few users send most of the actions,
+ * like in production. The ranks are spread over the ids by a fixed permutation, so the
+ * popular titles are mixed among movies and serials. Everything is written while being
+ * generated, so the size of the output is not bound by the memory, and the same
+ * configuration and seed always give the same file.
+ * <p>
+ * Usage: {@code java generator.WorkloadGenerator [name=value]...}, see
+ * {@link WorkloadConfig} for the settings.
+ */
+public final class WorkloadGenerator {
+    /**
+     * Shared factory of the writers
+     */
+    private static final JsonFactory FACTORY = new JsonFactory();
+    /**
+     * Size of the output buffer in bytes
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /**
+     * Genres as spelled in the tests
+     */
+    private static final String[] GENRES = {"Action", "Adventure", "Drama", "Comedy",
+        "Crime", "Romance", "War", "History", "Thriller", "Mystery", "Family", "Horror",
+        "Fantasy", "Science Fiction", "Action & Adventure", "Sci-Fi & Fantasy", "Animation",
+        "Kids", "Western", "TV Movie"};
+    /**
+     * Awards as spelled in the tests
+     */
+    private static final String[] AWARDS = {"BEST_PERFORMANCE", "BEST_DIRECTOR",
+        "PEOPLE_CHOICE_AWARD", "BEST_SUPPORTING_ACTOR", "BEST_SCREENPLAY"};
+    /**
+     * Words of the career descriptions, also used by the filter_description queries
+     */
+    private static final String[] WORDS = {"actor", "actress", "director", "producer",
+        "writer", "award", "american", "british", "film", "television", "comedy", "drama",
+        "singer", "voice", "stage", "academy", "golden", "globe", "nominated", "born"};
+    /**
+     * Kinds of queries, as object type and criteria
+     */
+    private static final String[][] QUERIES = {{"actors", "average"}, {"actors", "awards"},
+        {"actors", "filter_description"}, {"users", "num_ratings"},
+        {"movies", "ratings"}, {"movies", "favorite"}, {"movies", "longest"},
+        {"movies", "most_viewed"}, {"shows", "ratings"}, {"shows", "favorite"},
+        {"shows", "longest"}, {"shows", "most_viewed"}};
+    /**
+     * Kinds of recommendations
+     */
+    private static final String[] RECOMMENDATIONS = {"standard", "best_unseen", "popular",
+        "favorite", "search"};
+    /**
+     * Share of the commands, in percent, that are views and favorites; the rest rate
+     */
+    private static final int VIEW_PERCENT = 50;
+    private static final int FAVORITE_PERCENT = 20;
+    /**
+     * Release years
+     */
+    private static final int FIRST_YEAR = 1950;
+    private static final int YEARS = 71;
+    /**
+     * Durations of the movies and of the seasons, in minutes
+     */
+    private static final int MIN_MOVIE = 80;
+    private static final int MOVIE_SPREAD = 100;
+    private static final int MIN_EPISODES = 20;
+    private static final int EPISODES_SPREAD = 40;
+    /**
+     * Limits of the other random values
+     */
+    private static final int MAX_GENRES = 3;
+    private static final int MAX_VIEWS = 3;
+    private static final int MAX_DRAWS = 8;
+    private static final int MAX_AWARDS = 5;
+    private static final double AWARD_CHANCE = 0.3;
+    private static final int MIN_DESCRIPTION = 10;
+    private static final int DESCRIPTION_SPREAD = 20;
+    private static final int MAX_FILTER_ITEMS = 3;
+    private static final int MAX_NUMBER = 50;
+    private static final int MAX_GRADE = 10;
+    private static final double GRADE_STEP = 10.0;
+    /**
+     * Constants of the SplitMix64 finalizer, giving the number of seasons of a serial
+     */
+    private static final long MIX_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long MIX_FIRST = 0xBF58476D1CE4E5B9L;
+    private static final long MIX_SECOND = 0x94D049BB133111EBL;
+    private static final int MIX_SHIFT_FIRST = 30;
+    private static final int MIX_SHIFT_SECOND = 27;
+    private static final int MIX_SHIFT_THIRD = 31;
+    /**
+     * Ratio used to pick the steps of the permutations, about the golden ratio
+     */
+    private static final double STEP_RATIO = 0.6180339887;
+
+    private final WorkloadConfig config;
+    private final SplittableRandom random;
+    /**
+     * Number of movies and serials; the serials follow the movies
+     */
+    private final int titleCount;
+    private final Zipf titles;
+    private final Zipf users;
+    private final Zipf actors;
+    /**
+     * Steps of the permutations from popularity rank to id
+     */
+    private final int titleStep;
+    private final int userStep;
+    private final int actorStep;
+
+    public WorkloadGenerator(final WorkloadConfig config) {
+        this.config = config;
+        this.random = new SplittableRandom(config.getSeed());
+        titleCount = config.getMovies() + config.getSerials();
+        titles = new Zipf(titleCount, config.getZipf());
+        users = new Zipf(config.getUsers(), config.getZipf());
+        actors = new Zipf(config.getActors(), config.getZipf());
+        titleStep = step(titleCount);
+        userStep = step(config.getUsers());
+        actorStep = step(config.getActors());
+    }
+
+    /**
+     * @param args settings as "name=value"
+     * @throws IOException in case of exceptions to writing
+     */
+    public static void main(final String[] args) throws IOException {
+        WorkloadConfig config = WorkloadConfig.parse(args);
+        new WorkloadGenerator(config).write(config.getOut());
+    }
+
+    /**
+     * Generates the test
+     * @param path file written
+     * @throws IOException in case of exceptions to writing
+     */
+    public void write(final String path) throws IOException {
+        try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(path),
+                BUFFER_SIZE);
+             JsonGenerator json = FACTORY.createGenerator(stream, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeObjectFieldStart(Constants.DATABASE);
+            writeActors(json);
+            writeMovies(json);
+            writeSerials(json);
+            writeUsers(json);
+            json.writeEndObject();
+            writeActions(json);
+            json.writeEndObject();
+        }
+    }
+
+    private void writeActors(final JsonGenerator json) throws IOException {
+        json.writeArrayFieldStart(Constants.ACTORS);
+        for (int actor = 0; actor < config.getActors(); actor++) {
+            json.writeStartObject();
+            json.writeStringField(Constants.NAME, actorName(actor));
+            StringBuilder description = new StringBuilder();
+            int words = MIN_DESCRIPTION + random.nextInt(DESCRIPTION_SPREAD);
+            for (int i = 0; i < words; i++) {
+                description.append(i == 0 ? "" : " ").append(randomOf(WORDS));
+            }
+            description.append('.');
+            json.writeStringField(Constants.DESCRIPTION, description.toString());
+            json.writeArrayFieldStart(Constants.FILMOGRAPHY);
+            for (int i = 0; i < config.getCast(); i++) {
+                json.writeString(titleName(popularTitle()));
+            }
+            json.writeEndArray();
+            json.writeArrayFieldStart(Constants.AWARDS);
+            for (String award : AWARDS) {
+                if (random.nextDouble() < AWARD_CHANCE) {
+                    json.writeStartObject();
+                    json.writeStringField(Constants.AWARD_TYPE, award);
+                    json.writeNumberField(Constants.NUMBER_OF_AWARDS,
+                            1 + random.nextInt(MAX_AWARDS));
+                    json.writeEndObject();
+                }
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+
+    private void writeMovies(final JsonGenerator json) throws IOException {
+        json.writeArrayFieldStart(Constants.MOVIES);
+        for (int movie = 0; movie < config.getMovies(); movie++) {
+            json.writeStartObject();
+            json.writeStringField(Constants.NAME, titleName(movie));
+            json.writeStringField(Constants.YEAR, randomYear());
+            json.writeNumberField(Constants.DURATION, MIN_MOVIE + random.nextInt(MOVIE_SPREAD));
+            writeGenres(json);
+            writeCast(json, Constants.ACTORS);
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+
+    private void writeSerials(final JsonGenerator json) throws IOException {
+        json.writeArrayFieldStart(Constants.SHOWS);
+        for (int serial = 0; serial < config.getSerials(); serial++) {
+            json.writeStartObject();
+            json.writeStringField(Constants.NAME, titleName(config.getMovies() + serial));
+            json.writeStringField(Constants.YEAR, randomYear());
+            writeCast(json, Constants.CAST);
+            writeGenres(json);
+            int seasons = seasonsOf(serial);
+            json.writeNumberField(Constants.NUMBER_OF_SEASONS, seasons);
+            json.writeArrayFieldStart(Constants.SEASONS);
+            for (int season = 1; season <= seasons; season++) {
+                json.writeStartObject();
+                json.writeNumberField(Constants.CURRENT_SEASON, season);
+                json.writeNumberField(Constants.DURATION,
+                        MIN_EPISODES + random.nextInt(EPISODES_SPREAD));
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+
+    private void writeUsers(final JsonGenerator json) throws IOException {
+        json.writeArrayFieldStart(Constants.USERS);
+        Set<Integer> drawn = new HashSet<>();
+        int[] seen = new int[0];
+        for (int user = 0; user < config.getUsers(); user++) {
+            json.writeStartObject();
+            json.writeStringField(Constants.USERNAME, userName(user));
+            json.writeStringField(Constants.SUBSCRIPTION,
+                    random.nextDouble() < config.getPremium() ? "PREMIUM" : "BASIC");
+
+            int length = random.nextInt(config.getHistory() * 2 + 1);
+            if (seen.length < length) {
+                seen = new int[length];
+            }
+            drawn.clear();
+            json.writeArrayFieldStart(Constants.HISTORY);
+            for (int i = 0; i < length; i++) {
+                seen[i] = unseenTitle(drawn);
+                json.writeStartObject();
+                json.writeStringField(Constants.NAME, titleName(seen[i]));
+                json.writeNumberField(Constants.NUMBER_VIEWS, 1 + random.nextInt(MAX_VIEWS));
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+
+            int favorites = Math.min(length, random.nextInt(config.getFavorites() * 2 + 1));
+            json.writeArrayFieldStart(Constants.FAVORITE_MOVIES);
+            for (int i = 0; i < favorites; i++) {
+                json.writeString(titleName(seen[i]));
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+
+    private void writeActions(final JsonGenerator json) throws IOException {
+        int total = config.getCommands() + config.getQueries() + config.getRecommendations();
+        json.writeArrayFieldStart(Constants.ACTIONS);
+        for (long id = 1; id <= config.getActions(); id++) {
+            json.writeStartObject();
+            json.writeNumberField(Constants.ID, id);
+            int kind = random.nextInt(total);
+            if (kind < config.getCommands()) {
+                writeCommand(json);
+            } else if (kind < config.getCommands() + config.getQueries()) {
+                writeQuery(json);
+            } else {
+                writeRecommendation(json);
+            }
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+
+    private void writeCommand(final JsonGenerator json) throws IOException {
+        json.writeStringField(Constants.ACTION_TYPE, Constants.COMMAND);
+        int kind = random.nextInt(Constants.PERCENT);
+        int title = popularTitle();
+        if (kind < VIEW_PERCENT) {
+            json.writeStringField(Constants.TYPE, "view");
+        } else if (kind < VIEW_PERCENT + FAVORITE_PERCENT) {
+            json.writeStringField(Constants.TYPE, "favorite");
+        } else {
+            json.writeStringField(Constants.TYPE, "rating");
+            int tenths = random.nextInt((int) ((MAX_GRADE - 1) * GRADE_STEP) + 1);
+            json.writeNumberField(Constants.GRADE, 1 + tenths / GRADE_STEP);
+            if (title >= config.getMovies()) {
+                json.writeNumberField(Constants.SEASON,
+                        1 + random.nextInt(seasonsOf(title - config.getMovies())));
+            }
+        }
+        json.writeStringField(Constants.USER, userName(activeUser()));
+        json.writeStringField(Constants.TITLE, titleName(title));
+    }
+
+    private void writeQuery(final JsonGenerator json) throws IOException {
+        String[] query = QUERIES[random.nextInt(QUERIES.length)];
+        json.writeStringField(Constants.ACTION_TYPE, Constants.QUERY);
+        json.writeStringField(Constants.OBJECT, query[0]);
+        json.writeNumberField(Constants.NUMBER, 1 + random.nextInt(MAX_NUMBER));
+        if (!query[0].equals(Constants.USERS)) {
+            json.writeObjectFieldStart(Constants.FILTERS);
+            boolean videos = !query[0].equals(Constants.ACTORS);
+            writeOptional(json, Constants.YEAR, videos && random.nextBoolean()
+                    ? randomYear() : null);
+            writeOptional(json, Constants.GENRE, videos && random.nextBoolean()
+                    ? randomOf(GENRES) : null);
+            writeList(json, Constants.WORDS,
+                    query[1].equals(Constants.FILTER_DESCRIPTIONS) ? WORDS : null,
+                    MAX_FILTER_ITEMS);
+            writeList(json, Constants.AWARDS,
+                    query[1].equals(Constants.AWARDS) ? AWARDS : null, MAX_FILTER_ITEMS);
+            json.writeEndObject();
+        }
+        json.writeStringField(Constants.SORT, random.nextBoolean() ? "asc" : "desc");
+        json.writeStringField(Constants.CRITERIA, query[1]);
+    }
+
+    private void writeRecommendation(final JsonGenerator json) throws IOException {
+        String type = randomOf(RECOMMENDATIONS);
+        json.writeStringField(Constants.ACTION_TYPE, Constants.RECOMMENDATION);
+        json.writeStringField(Constants.TYPE, type);
+        json.writeStringField(Constants.USERNAME, userName(activeUser()));
+        if (type.equals("search")) {
+            json.writeStringField(Constants.GENRE, randomOf(GENRES));
+        }
+    }
+
+    private void writeGenres(final JsonGenerator json) throws IOException {
+        writeList(json, Constants.GENRES, GENRES, MAX_GENRES);
+    }
+
+    private void writeCast(final JsonGenerator json, final String field) throws IOException {
+        json.writeArrayFieldStart(field);
+        for (int i = 0; i < config.getCast(); i++) {
+            json.writeString(actorName(permute(actors.next(random) - 1, actorStep,
+                    config.getActors())));
+        }
+        json.writeEndArray();
+    }
+
+    private void writeOptional(final JsonGenerator json, final String field,
+                               final String value) throws IOException {
+        if (value == null) {
+            json.writeNullField(field);
+        } else {
+            json.writeStringField(field, value);
+        }
+    }
+
+    /**
+     * Writes from 1 to max distinct items of the choices, or null when there are no
+     * choices
+     */
+    private void writeList(final JsonGenerator json, final String field,
+                           final String[] choices, final int max) throws IOException {
+        if (choices == null) {
+            json.writeNullField(field);
+            return;
+        }
+        json.writeArrayFieldStart(field);
+        int count = 1 + random.nextInt(Math.min(max, choices.length));
+        long picked = 0;
+        while (count > 0) {
+            int choice = random.nextInt(choices.length);
+            if ((picked & 1L << choice) == 0) {
+                picked |= 1L << choice;
+                json.writeString(choices[choice]);
+                count--;
+            }
+        }
+        json.writeEndArray();
+    }
+
+    /**
+     * Draws a title not drawn yet; the rare titles are almost never drawn when the
+     * popularity is very skewed, so after a few draws the next unused id is taken
+     */
+    private int unseenTitle(final Set<Integer> drawn) {
+        int title = popularTitle();
+        for (int draw = 1; draw < MAX_DRAWS && drawn.contains(title); draw++) {
+            title = popularTitle();
+        }
+        while (!drawn.add(title)) {
+            title = (title + 1) % titleCount;
+        }
+        return title;
+    }
+
+    private int popularTitle() {
+        return permute(titles.next(random) - 1, titleStep, titleCount);
+    }
+
+    private int activeUser() {
+        return permute(users.next(random) - 1, userStep, config.getUsers());
+    }
+
+    private String randomYear() {
+        return String.valueOf(FIRST_YEAR + random.nextInt(YEARS));
+    }
+
+    private String randomOf(final String[] choices) {
+        return choices[random.nextInt(choices.length)];
+    }
+
+    /**
+     * Number of seasons of a serial, the same wherever it is needed
+     */
+    private int seasonsOf(final int serial) {
+        long z = config.getSeed() + (serial + 1) * MIX_GAMMA;
+        z = (z ^ (z >>> MIX_SHIFT_FIRST)) * MIX_FIRST;
+        z = (z ^ (z >>> MIX_SHIFT_SECOND)) * MIX_SECOND;
+        z ^= z >>> MIX_SHIFT_THIRD;
+        return 1 + (int) Math.floorMod(z, (long) config.getSeasons());
+    }
+
+    private String titleName(final int title) {
+        if (title < config.getMovies()) {
+            return "Movie " + title;
+        }
+        return "Serial " + (title - config.getMovies());
+    }
+
+    private static String userName(final int user) {
+        return "user" + user;
+    }
+
+    private static String actorName(final int actor) {
+        return "Actor " + actor;
+    }
+
+    /**
+     * Maps a popularity rank to an id; rank * step modulo count is a permutation since
+     * the step and the count are coprime
+     */
+    private static int permute(final int rank, final int step, final int count) {
+        return (int) ((long) rank * step % count);
+    }
+
+    /**
+     * A step coprime with the count, about the count divided by the golden ratio, so that
+     * consecutive ranks land far apart
+     */
+    private static int step(final int count) {
+        int step = Math.max(1, (int) (count * STEP_RATIO));
+        while (gcd(step, count) != 1) {
+            step++;
+        }
+        return step;
+    }
+
+    private static int gcd(final int a, final int b) {
+        int x = a;
+        int y = b;
+        while (y != 0) {
+            int r = x % y;
+            x = y;
+            y = r;
+        }
+        return x;
+    }
+}
@@ -0,0 +1,123 @@
+package generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks from 1 to n with probability proportional to 1 / rank^exponent, by the
+ * rejection-inversion method of Hormann and Derflinger.
+ * <p>
+ * Unlike a table of the cumulative probabilities, it needs constant memory and time
+ * whatever the number of ranks, so millions of titles or users can be drawn from.
+ */
+public final class Zipf {
+    /**
+     * Below this magnitude the helper functions use their Taylor series
+     */
+    private static final double SERIES_LIMIT = 1e-8;
+    /**
+     * Coefficients of the Taylor series of the helper functions
+     */
+    private static final double HALF = 0.5;
+    private static final double THIRD = 1.0 / 3.0;
+    private static final double QUARTER = 0.25;
+    /**
+     * Bounds of the integral of the first ranks, used by the acceptance test
+     */
+    private static final double FIRST_BOUND = 1.5;
+    private static final double SECOND_BOUND = 2.5;
+    private static final double SECOND_RANK = 2.0;
+    /**
+     * Number of ranks
+     */
+    private final int count;
+    /**
+     * Exponent of the distribution, greater than 0
+     */
+    private final double exponent;
+    /**
+     * Integral of the hat function from the first rank
+     */
+    private final double hIntegralFirst;
+    /**
+     * Integral of the hat function up to the last rank
+     */
+    private final double hIntegralLast;
+    /**
+     * Distance from a rank below which a candidate is accepted without more checks
+     */
+    private final double squeeze;
+
+    public Zipf(final int count, final double exponent) {
+        this.count = count;
+        this.exponent = exponent;
+        hIntegralFirst = hIntegral(FIRST_BOUND) - 1;
+        hIntegralLast = hIntegral(count + HALF);
+        squeeze = SECOND_RANK
+                - hIntegralInverse(hIntegral(SECOND_BOUND) - h(SECOND_RANK));
+    }
+
+    /**
+     * @param random source of randomness
+     * @return a rank from 1 to the number of ranks, 1 being the most likely
+     */
+    public int next(final SplittableRandom random) {
+        while (true) {
+            double u = hIntegralLast + random.nextDouble() * (hIntegralFirst - hIntegralLast);
+            double x = hIntegralInverse(u);
+            int k = (int) (x + HALF);
+            if (k < 1) {
+                k = 1;
+            } else if (k > count) {
+                k = count;
+            }
+            if (k - x <= squeeze || u >= hIntegral(k + HALF) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    /**
+     *
+     * @return number of ranks
+     */
+    public int getCount() {
+        return count;
+    }
+
+    private double h(final double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegral(final double x) {
+        double logX = Math.log(x);
+        return helper2((1 - exponent) * logX) * logX;
+    }
+
+    private double hIntegralInverse(final double x) {
+        double t = x * (1 - exponent);
+        if (t < -1) {
+            t = -1;
+        }
+        return Math.exp(helper1(t) * x);
+    }
+
+    /**
+     * log(1 + x) / x, accurate near 0
+     */
+    private static double helper1(final double x) {
+        if (Math.abs(x) > SERIES_LIMIT) {
+            return Math.log1p(x) / x;
+        }
+        return 1 - x * (HALF - x * (THIRD - QUARTER * x));
+    }
+
+    /**
+     * (exp(x) - 1) / x, accurate near 0
+     */
+    private static double helper2(final double x) {
+        if (Math.abs(x) > SERIES_LIMIT) {
+            return Math.expm1(x) / x;
+        }
+        return 1 + x * HALF * (1 + x * THIRD * (1 + QUARTER * x));
+    }
+}
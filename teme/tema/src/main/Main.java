@@ -1,22 +1,26 @@
 package main;
 
-import actions.Action;
+import actions.ActionRunner;
 import checker.Checker;
 import checker.Checkstyle;
 import common.Constants;
-import fileio.ActionInputData;
 import fileio.Input;
-import fileio.InputLoader;
-import fileio.Writer;
-import org.json.simple.JSONArray;
+import fileio.StreamingInputLoader;
+import fileio.StreamingWriter;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 /**
  * The entry point to this homework. It runs the checker that tests your implentation.
@@ -45,14 +49,36 @@ public final class Main {
         Checker checker = new Checker();
         checker.deleteFiles(outputDirectory.listFiles());
 
-        for (File file : Objects.requireNonNull(inputDirectory.listFiles())) {
+        int parallelism = Integer.getInteger(Constants.PARALLELISM,
+                Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        Semaphore memory = new Semaphore(memoryBudget());
+        List<Future<?>> tasks = new ArrayList<>();
 
-            String filepath = Constants.OUT_PATH + file.getName();
-            File out = new File(filepath);
-            boolean isCreated = out.createNewFile();
-            if (isCreated) {
-                action(file.getAbsolutePath(), filepath);
+        try {
+            for (File file : Objects.requireNonNull(inputDirectory.listFiles())) {
+
+                String filepath = Constants.OUT_PATH + file.getName();
+                File out = new File(filepath);
+                boolean isCreated = out.createNewFile();
+                if (isCreated) {
+                    int permits = Math.min(memoryNeeded(file), memoryBudget());
+                    memory.acquireUninterruptibly(permits);
+                    tasks.add(executor.submit(() -> {
+                        try {
+                            action(file.getAbsolutePath(), filepath);
+                        } finally {
+                            memory.release(permits);
+                        }
+                        return null;
+                    }));
+                }
+            }
+            for (Future<?> task : tasks) {
+                waitFor(task);
             }
+        } finally {
+            executor.shutdownNow();
         }
 
         checker.iterateFiles(Constants.RESULT_PATH, Constants.REF_PATH, Constants.TESTS_PATH);
@@ -60,26 +86,61 @@ public final class Main {
         test.testCheckstyle();
     }
 
+    /**
+     * @return kilobytes of heap that the tests running at the same time may use
+     */
+    private static int memoryBudget() {
+        long percent = Integer.getInteger(Constants.HEAP_PERCENT, Constants.DEFAULT_HEAP_PERCENT);
+        long budget = Runtime.getRuntime().maxMemory() / Constants.KILOBYTE
+                * percent / Constants.PERCENT;
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, budget));
+    }
+
+    /**
+     * @param file input file
+     * @return estimated kilobytes of heap needed to run the test
+     */
+    private static int memoryNeeded(final File file) {
+        long needed = file.length() * Constants.INPUT_MEMORY_FACTOR / Constants.KILOBYTE;
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, needed));
+    }
+
+    /**
+     * Waits for a test to finish and rethrows its failure
+     * @param task running test
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    private static void waitFor(final Future<?> task) throws IOException {
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
     /**
      * @param filePath1 for input file
      * @param filePath2 for output file
      * @throws IOException in case of exceptions to reading / writing
      */
-    @SuppressWarnings("unchecked")
     public static void action(final String filePath1,
                               final String filePath2) throws IOException {
-        InputLoader inputLoader = new InputLoader(filePath1);
+        StreamingInputLoader inputLoader = new StreamingInputLoader(filePath1);
         Input input = inputLoader.readData();
 
-        Writer fileWriter = new Writer(filePath2);
-        JSONArray arrayResult = new JSONArray();
-
-        //TODO add here the entry point to your implementation
-        List<ActionInputData> actions = input.getCommands();
-        for (ActionInputData action : actions) {
-            String r = Action.act(input, action);
-            arrayResult.add(fileWriter.writeFile(action.getActionId(), action.getActionType(), r));
+        try (StreamingWriter fileWriter = new StreamingWriter(filePath2)) {
+            ActionRunner.run(input, input.getCommands(),
+                    Boolean.getBoolean(Constants.PARALLEL_ACTIONS),
+                    (action, r) -> fileWriter.write(action.getActionId(), r));
         }
-        fileWriter.closeJSON(arrayResult);
     }
 }
@@ -0,0 +1,88 @@
+package storage;
+
+import utils.IntIntHashMap;
+import utils.IntOrderedSet;
+import utils.LongHashSet;
+
+/**
+ * Default store, keeping the data of the user in primitive collections on the heap.
+ */
+public final class HeapUserStore implements UserStore {
+    /**
+     * Number of views of every title in the history
+     */
+    private final IntIntHashMap views = new IntIntHashMap();
+    /**
+     * Favorite titles, in insertion order
+     */
+    private final IntOrderedSet favorites = new IntOrderedSet();
+    /**
+     * Rated titles and seasons
+     */
+    private final LongHashSet ratings = new LongHashSet();
+
+    @Override
+    public int getViews(final int title) {
+        return views.get(title, 0);
+    }
+
+    @Override
+    public boolean hasViewed(final int title) {
+        return views.containsKey(title);
+    }
+
+    @Override
+    public int addViews(final int title, final int count) {
+        return views.addTo(title, count);
+    }
+
+    @Override
+    public int getHistoryCount() {
+        return views.size();
+    }
+
+    @Override
+    public void forEachView(final ViewConsumer consumer) {
+        for (int slot = 0; slot < views.capacity(); slot++) {
+            int title = views.keyAt(slot);
+            if (title >= 0) {
+                consumer.accept(title, views.valueAt(slot));
+            }
+        }
+    }
+
+    @Override
+    public int getFavoritesCount() {
+        return favorites.size();
+    }
+
+    @Override
+    public int getFavorite(final int index) {
+        return favorites.get(index);
+    }
+
+    @Override
+    public boolean isFavorite(final int title) {
+        return favorites.contains(title);
+    }
+
+    @Override
+    public boolean addFavorite(final int title) {
+        return favorites.add(title);
+    }
+
+    @Override
+    public int getRatingsCount() {
+        return ratings.size();
+    }
+
+    @Override
+    public boolean hasRated(final long key) {
+        return ratings.contains(key);
+    }
+
+    @Override
+    public void addRating(final long key) {
+        ratings.add(key);
+    }
+}
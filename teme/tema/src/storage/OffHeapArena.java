@@ -0,0 +1,218 @@
+package storage;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Memory outside of the heap, handed out in blocks whose size is a power of two.
+ * <p>
+ * The blocks are cut from large direct buffers, so the garbage collector sees a few
+ * buffers instead of one object for every entry. A block is named by a long address,
+ * the index of its buffer in the high half and its offset in the low half. Freed
+ * blocks are kept in one list for every size and reused by the next allocation of
+ * that size. The memory is given back to the system when the arena itself is
+ * collected.
+ * <p>
+ * Like the stores using it, an arena is only changed by one thread at a time.
+ */
+public final class OffHeapArena {
+    /**
+     * Size of the buffers the small blocks are cut from, in bytes
+     */
+    private static final int SLAB_SIZE = 1 << 20;
+    /**
+     * Size of the smallest block, enough to hold the link of the free list
+     */
+    private static final int MIN_BLOCK = 16;
+    /**
+     * Position of the buffer index in an address
+     */
+    private static final int SLAB_SHIFT = 32;
+    /**
+     * Address of no block, ending the free lists
+     */
+    private static final long NONE = -1;
+    /**
+     * Buffers, by index
+     */
+    private ByteBuffer[] slabs = new ByteBuffer[1];
+    /**
+     * Number of buffers
+     */
+    private int slabCount;
+    /**
+     * Bytes already used of the last small block buffer
+     */
+    private int position = SLAB_SIZE;
+    /**
+     * Index of the buffer the small blocks are cut from
+     */
+    private int current = -1;
+    /**
+     * First free block of every size, by the log2 of the size
+     */
+    private final long[] freeBlocks = new long[Integer.SIZE];
+    /**
+     * Total size of the buffers
+     */
+    private long reserved;
+
+    public OffHeapArena() {
+        Arrays.fill(freeBlocks, NONE);
+    }
+
+    /**
+     *
+     * @param bytes size needed, at least 1
+     * @return size of the block given for that many bytes
+     */
+    public static int blockSize(final int bytes) {
+        return Math.max(MIN_BLOCK, Integer.highestOneBit(bytes - 1) << 1);
+    }
+
+    /**
+     * Gives a block of at least the given size; its content is undefined
+     * @param bytes size needed, at least 1
+     * @return address of the block
+     */
+    public long allocate(final int bytes) {
+        int size = blockSize(bytes);
+        int sizeClass = Integer.numberOfTrailingZeros(size);
+        long address = freeBlocks[sizeClass];
+        if (address != NONE) {
+            freeBlocks[sizeClass] = slab(address).getLong(offset(address));
+            return address;
+        }
+        if (size >= SLAB_SIZE) {
+            return address(addSlab(size), 0);
+        }
+        if (position + size > SLAB_SIZE) {
+            current = addSlab(SLAB_SIZE);
+            position = 0;
+        }
+        address = address(current, position);
+        position += size;
+        return address;
+    }
+
+    /**
+     * Takes back a block for reuse
+     * @param address address of the block
+     * @param bytes size asked for when the block was allocated
+     */
+    public void free(final long address, final int bytes) {
+        int sizeClass = Integer.numberOfTrailingZeros(blockSize(bytes));
+        slab(address).putLong(offset(address), freeBlocks[sizeClass]);
+        freeBlocks[sizeClass] = address;
+    }
+
+    /**
+     *
+     * @param address address of a block
+     * @param index position of an int in the block
+     * @return the int
+     */
+    public int getInt(final long address, final int index) {
+        return slab(address).getInt(offset(address) + index * Integer.BYTES);
+    }
+
+    /**
+     *
+     * @param address address of a block
+     * @param index position of an int in the block
+     * @param value new value of the int
+     */
+    public void putInt(final long address, final int index, final int value) {
+        slab(address).putInt(offset(address) + index * Integer.BYTES, value);
+    }
+
+    /**
+     *
+     * @param address address of a block
+     * @param index position of a long in the block
+     * @return the long
+     */
+    public long getLong(final long address, final int index) {
+        return slab(address).getLong(offset(address) + index * Long.BYTES);
+    }
+
+    /**
+     *
+     * @param address address of a block
+     * @param index position of a long in the block
+     * @param value new value of the long
+     */
+    public void putLong(final long address, final int index, final long value) {
+        slab(address).putLong(offset(address) + index * Long.BYTES, value);
+    }
+
+    /**
+     * Sets longs of a block to the same value
+     * @param address address of a block
+     * @param count number of longs set, from the start of the block
+     * @param value new value of the longs
+     */
+    public void fillLongs(final long address, final int count, final long value) {
+        ByteBuffer slab = slab(address);
+        int start = offset(address);
+        for (int i = 0; i < count; i++) {
+            slab.putLong(start + i * Long.BYTES, value);
+        }
+    }
+
+    /**
+     * Sets ints of a block to the same value
+     * @param address address of a block
+     * @param count number of ints set, from the start of the block
+     * @param value new value of the ints
+     */
+    public void fill(final long address, final int count, final int value) {
+        ByteBuffer slab = slab(address);
+        int start = offset(address);
+        for (int i = 0; i < count; i++) {
+            slab.putInt(start + i * Integer.BYTES, value);
+        }
+    }
+
+    /**
+     * Copies ints between blocks
+     * @param from address of the source block
+     * @param to address of the destination block
+     * @param count number of ints copied, from the start of the blocks
+     */
+    public void copy(final long from, final long to, final int count) {
+        for (int i = 0; i < count; i++) {
+            putInt(to, i, getInt(from, i));
+        }
+    }
+
+    /**
+     *
+     * @return bytes of memory taken outside the heap
+     */
+    public long getReservedBytes() {
+        return reserved;
+    }
+
+    private int addSlab(final int size) {
+        if (slabCount == slabs.length) {
+            slabs = Arrays.copyOf(slabs, slabCount * 2);
+        }
+        slabs[slabCount] = ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+        reserved += size;
+        return slabCount++;
+    }
+
+    private ByteBuffer slab(final long address) {
+        return slabs[(int) (address >>> SLAB_SHIFT)];
+    }
+
+    private static int offset(final long address) {
+        return (int) address;
+    }
+
+    private static long address(final int slab, final int offset) {
+        return (long) slab << SLAB_SHIFT | offset;
+    }
+}
@@ -0,0 +1,284 @@
+package storage;
+
+/**
+ * Store keeping the data of the user in blocks of an {@link OffHeapArena}.
+ * <p>
+ * The history is an open addressing table of (title, views) int pairs and the ratings
+ * an open addressing table of longs. The favorites are an int array in insertion order
+ * plus an open addressing table of the same titles for the membership checks. On the
+ * heap a store only keeps the addresses and the sizes of its blocks, so the heap used
+ * by a user does not grow with its data. A block is allocated on the first entry and
+ * replaced by one twice as large when full.
+ */
+public final class OffHeapUserStore implements UserStore {
+    /**
+     * Number of slots of a new history table, a power of two
+     */
+    private static final int INITIAL_SLOTS = 8;
+    /**
+     * Number of ints of a new favorites array
+     */
+    private static final int INITIAL_LENGTH = 4;
+    /**
+     * Multiplier spreading consecutive titles over the table
+     */
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+    /**
+     * Multiplier spreading close rating keys over the table
+     */
+    private static final long LONG_HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    /**
+     * Bits of the hash of a rating key dropped before picking the slot
+     */
+    private static final int LONG_HASH_SHIFT = 32;
+    /**
+     * Content of a free slot of the ratings table
+     */
+    private static final long FREE_KEY = -1;
+    /**
+     * Title of a free slot
+     */
+    private static final int FREE = -1;
+    /**
+     * Address of a block not allocated yet
+     */
+    private static final long NONE = -1;
+    /**
+     * Ints in a slot of the history: title and views
+     */
+    private static final int SLOT_INTS = 2;
+    /**
+     * Arena holding the blocks
+     */
+    private final OffHeapArena arena;
+    /**
+     * Block of the history table
+     */
+    private long history = NONE;
+    /**
+     * Number of slots of the history table
+     */
+    private int historySlots;
+    /**
+     * Number of titles in the history
+     */
+    private int historySize;
+    /**
+     * Block of the favorite titles, in insertion order
+     */
+    private long favorites = NONE;
+    /**
+     * Block of the table of the favorite titles, twice as long as the favorites block
+     */
+    private long favoritesTable = NONE;
+    /**
+     * Number of ints that fit in the favorites block
+     */
+    private int favoritesLength;
+    /**
+     * Number of favorite titles
+     */
+    private int favoritesSize;
+    /**
+     * Block of the table of the rated titles and seasons
+     */
+    private long ratings = NONE;
+    /**
+     * Number of slots of the ratings table
+     */
+    private int ratingsSlots;
+    /**
+     * Number of ratings
+     */
+    private int ratingsSize;
+
+    public OffHeapUserStore(final OffHeapArena arena) {
+        this.arena = arena;
+    }
+
+    @Override
+    public int getViews(final int title) {
+        if (historySize == 0) {
+            return 0;
+        }
+        int slot = find(title);
+        return arena.getInt(history, slot * SLOT_INTS) == FREE ? 0
+                : arena.getInt(history, slot * SLOT_INTS + 1);
+    }
+
+    @Override
+    public boolean hasViewed(final int title) {
+        return historySize > 0 && arena.getInt(history, find(title) * SLOT_INTS) != FREE;
+    }
+
+    @Override
+    public int addViews(final int title, final int count) {
+        if ((historySize + 1) * 2 > historySlots) {
+            growHistory();
+        }
+        int slot = find(title);
+        int views = count;
+        if (arena.getInt(history, slot * SLOT_INTS) == FREE) {
+            arena.putInt(history, slot * SLOT_INTS, title);
+            historySize++;
+        } else {
+            views += arena.getInt(history, slot * SLOT_INTS + 1);
+        }
+        arena.putInt(history, slot * SLOT_INTS + 1, views);
+        return views;
+    }
+
+    @Override
+    public int getHistoryCount() {
+        return historySize;
+    }
+
+    @Override
+    public void forEachView(final ViewConsumer consumer) {
+        for (int slot = 0; slot < historySlots; slot++) {
+            int title = arena.getInt(history, slot * SLOT_INTS);
+            if (title != FREE) {
+                consumer.accept(title, arena.getInt(history, slot * SLOT_INTS + 1));
+            }
+        }
+    }
+
+    @Override
+    public int getFavoritesCount() {
+        return favoritesSize;
+    }
+
+    @Override
+    public int getFavorite(final int index) {
+        return arena.getInt(favorites, index);
+    }
+
+    @Override
+    public boolean isFavorite(final int title) {
+        return favoritesSize > 0
+                && arena.getInt(favoritesTable, findFavorite(title)) != FREE;
+    }
+
+    @Override
+    public boolean addFavorite(final int title) {
+        if (isFavorite(title)) {
+            return false;
+        }
+        if (favoritesSize == favoritesLength) {
+            growFavorites();
+        }
+        arena.putInt(favoritesTable, findFavorite(title), title);
+        arena.putInt(favorites, favoritesSize++, title);
+        return true;
+    }
+
+    @Override
+    public int getRatingsCount() {
+        return ratingsSize;
+    }
+
+    @Override
+    public boolean hasRated(final long key) {
+        return ratingsSize > 0 && arena.getLong(ratings, findRating(key)) != FREE_KEY;
+    }
+
+    @Override
+    public void addRating(final long key) {
+        if ((ratingsSize + 1) * 2 > ratingsSlots) {
+            growRatings();
+        }
+        int slot = findRating(key);
+        if (arena.getLong(ratings, slot) == FREE_KEY) {
+            arena.putLong(ratings, slot, key);
+            ratingsSize++;
+        }
+    }
+
+    private int find(final int title) {
+        int mask = historySlots - 1;
+        int slot = title * HASH_MULTIPLIER & mask;
+        int key = arena.getInt(history, slot * SLOT_INTS);
+        while (key != FREE && key != title) {
+            slot = (slot + 1) & mask;
+            key = arena.getInt(history, slot * SLOT_INTS);
+        }
+        return slot;
+    }
+
+    private void growHistory() {
+        long oldHistory = history;
+        int oldSlots = historySlots;
+        historySlots = oldSlots == 0 ? INITIAL_SLOTS : oldSlots * 2;
+        history = arena.allocate(historySlots * SLOT_INTS * Integer.BYTES);
+        arena.fill(history, historySlots * SLOT_INTS, FREE);
+        for (int slot = 0; slot < oldSlots; slot++) {
+            int title = arena.getInt(oldHistory, slot * SLOT_INTS);
+            if (title != FREE) {
+                int free = find(title);
+                arena.putInt(history, free * SLOT_INTS, title);
+                arena.putInt(history, free * SLOT_INTS + 1,
+                        arena.getInt(oldHistory, slot * SLOT_INTS + 1));
+            }
+        }
+        if (oldHistory != NONE) {
+            arena.free(oldHistory, oldSlots * SLOT_INTS * Integer.BYTES);
+        }
+    }
+
+    private int findRating(final long key) {
+        int mask = ratingsSlots - 1;
+        int slot = (int) (key * LONG_HASH_MULTIPLIER >>> LONG_HASH_SHIFT) & mask;
+        long found = arena.getLong(ratings, slot);
+        while (found != FREE_KEY && found != key) {
+            slot = (slot + 1) & mask;
+            found = arena.getLong(ratings, slot);
+        }
+        return slot;
+    }
+
+    private void growRatings() {
+        long oldRatings = ratings;
+        int oldSlots = ratingsSlots;
+        ratingsSlots = oldSlots == 0 ? INITIAL_SLOTS : oldSlots * 2;
+        ratings = arena.allocate(ratingsSlots * Long.BYTES);
+        arena.fillLongs(ratings, ratingsSlots, FREE_KEY);
+        for (int slot = 0; slot < oldSlots; slot++) {
+            long key = arena.getLong(oldRatings, slot);
+            if (key != FREE_KEY) {
+                arena.putLong(ratings, findRating(key), key);
+            }
+        }
+        if (oldRatings != NONE) {
+            arena.free(oldRatings, oldSlots * Long.BYTES);
+        }
+    }
+
+    private int findFavorite(final int title) {
+        int mask = favoritesLength * 2 - 1;
+        int slot = title * HASH_MULTIPLIER & mask;
+        int key = arena.getInt(favoritesTable, slot);
+        while (key != FREE && key != title) {
+            slot = (slot + 1) & mask;
+            key = arena.getInt(favoritesTable, slot);
+        }
+        return slot;
+    }
+
+    private void growFavorites() {
+        int oldLength = favoritesLength;
+        favoritesLength = oldLength == 0 ? INITIAL_LENGTH : oldLength * 2;
+        long larger = arena.allocate(favoritesLength * Integer.BYTES);
+        if (favorites != NONE) {
+            arena.copy(favorites, larger, favoritesSize);
+            arena.free(favorites, oldLength * Integer.BYTES);
+            arena.free(favoritesTable, oldLength * 2 * Integer.BYTES);
+        }
+        favorites = larger;
+        favoritesTable = arena.allocate(favoritesLength * 2 * Integer.BYTES);
+        arena.fill(favoritesTable, favoritesLength * 2, FREE);
+        for (int i = 0; i < favoritesSize; i++) {
+            int title = arena.getInt(favorites, i);
+            arena.putInt(favoritesTable, findFavorite(title), title);
+        }
+    }
+}
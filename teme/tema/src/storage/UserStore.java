@@ -0,0 +1,103 @@
+package storage;
+
+/**
+ * Keeps the data of one user, by title id: the number of views of every title in the
+ * history, the favorite titles in insertion order and the rated titles and seasons.
+ * <p>
+ * Only the commands change a store; the queries and the recommendations only read it,
+ * so a store does not have to support changes concurrent with reads.
+ */
+public interface UserStore {
+    /**
+     * Receives the entries of a history
+     */
+    interface ViewConsumer {
+        /**
+         *
+         * @param title title id
+         * @param views number of views of the title
+         */
+        void accept(int title, int views);
+    }
+
+    /**
+     *
+     * @param title title id
+     * @return number of views of the title, 0 if it is not in the history
+     */
+    int getViews(int title);
+
+    /**
+     *
+     * @param title title id
+     * @return true if the title is in the history
+     */
+    boolean hasViewed(int title);
+
+    /**
+     * Adds views of a title to the history
+     * @param title title id
+     * @param count number of views added
+     * @return the number of views of the title
+     */
+    int addViews(int title, int count);
+
+    /**
+     *
+     * @return number of titles in the history
+     */
+    int getHistoryCount();
+
+    /**
+     * Visits the history, in no particular order
+     * @param consumer receives every title and its number of views
+     */
+    void forEachView(ViewConsumer consumer);
+
+    /**
+     *
+     * @return number of favorite titles
+     */
+    int getFavoritesCount();
+
+    /**
+     *
+     * @param index position in the favorites, below their count
+     * @return id of the title added to favorites in that position
+     */
+    int getFavorite(int index);
+
+    /**
+     *
+     * @param title title id
+     * @return true if the title is in the favorites
+     */
+    boolean isFavorite(int title);
+
+    /**
+     * Adds a title at the end of the favorites
+     * @param title title id
+     * @return true if the title was not in the favorites
+     */
+    boolean addFavorite(int title);
+
+    /**
+     *
+     * @return number of ratings given
+     */
+    int getRatingsCount();
+
+    /**
+     *
+     * @param key title id and season number of a video, as packed by
+     *            {@link utils.Utils#ratingKey(int, int)}
+     * @return true if it was already rated
+     */
+    boolean hasRated(long key);
+
+    /**
+     *
+     * @param key title id and season number of a rated video
+     */
+    void addRating(long key);
+}
@@ -0,0 +1,160 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Map from non negative int keys to int values, stored in two parallel arrays with
+ * open addressing and linear probing.
+ * <p>
+ * Unlike a HashMap of Integer, neither the keys nor the values are boxed, so an entry
+ * costs two ints and a lookup does not allocate. The entries are visited by slot:
+ * for every slot below {@link #capacity()}, {@link #keyAt(int)} is the key stored
+ * there or -1 for a free slot.
+ */
+public final class IntIntHashMap {
+    /**
+     * Number of slots of a new map, a power of two
+     */
+    private static final int INITIAL_CAPACITY = 8;
+    /**
+     * Multiplier spreading consecutive keys over the table
+     */
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+    /**
+     * Key of a free slot
+     */
+    private static final int FREE = -1;
+    /**
+     * Key of every slot, FREE when empty
+     */
+    private int[] keys;
+    /**
+     * Value of every slot
+     */
+    private int[] values;
+    /**
+     * Number of entries
+     */
+    private int size;
+
+    public IntIntHashMap() {
+        keys = new int[INITIAL_CAPACITY];
+        values = new int[INITIAL_CAPACITY];
+        Arrays.fill(keys, FREE);
+    }
+
+    /**
+     *
+     * @param key key, at least 0
+     * @param defaultValue returned when the key is missing
+     * @return the value of the key
+     */
+    public int get(final int key, final int defaultValue) {
+        int slot = find(key);
+        return keys[slot] == FREE ? defaultValue : values[slot];
+    }
+
+    /**
+     *
+     * @param key key, at least 0
+     * @return true if the key has a value
+     */
+    public boolean containsKey(final int key) {
+        return keys[find(key)] != FREE;
+    }
+
+    /**
+     * Sets the value of a key
+     * @param key key, at least 0
+     * @param value new value
+     */
+    public void put(final int key, final int value) {
+        int slot = find(key);
+        if (keys[slot] == FREE) {
+            slot = insert(slot, key);
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Adds to the value of a key, missing keys starting from 0
+     * @param key key, at least 0
+     * @param delta amount added
+     * @return the new value of the key
+     */
+    public int addTo(final int key, final int delta) {
+        int slot = find(key);
+        if (keys[slot] == FREE) {
+            slot = insert(slot, key);
+        }
+        values[slot] += delta;
+        return values[slot];
+    }
+
+    /**
+     *
+     * @return number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     *
+     * @return number of slots
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     *
+     * @param slot slot, below capacity
+     * @return the key stored in the slot, -1 if the slot is free
+     */
+    public int keyAt(final int slot) {
+        return keys[slot];
+    }
+
+    /**
+     *
+     * @param slot slot holding a key
+     * @return the value stored in the slot
+     */
+    public int valueAt(final int slot) {
+        return values[slot];
+    }
+
+    private int find(final int key) {
+        int mask = keys.length - 1;
+        int slot = key * HASH_MULTIPLIER & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int insert(final int slot, final int key) {
+        if ((size + 1) * 2 <= keys.length) {
+            keys[slot] = key;
+            size++;
+            return slot;
+        }
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        Arrays.fill(keys, FREE);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int free = find(oldKeys[i]);
+                keys[free] = oldKeys[i];
+                values[free] = oldValues[i];
+            }
+        }
+        int free = find(key);
+        keys[free] = key;
+        size++;
+        return free;
+    }
+}
@@ -0,0 +1,63 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of ints kept in a plain array, without boxing the elements.
+ */
+public final class IntList {
+    /**
+     * Length of the array of a new list
+     */
+    private static final int INITIAL_CAPACITY = 4;
+    /**
+     * Elements, in insertion order, followed by unused room
+     */
+    private int[] elements = new int[INITIAL_CAPACITY];
+    /**
+     * Number of elements
+     */
+    private int size;
+
+    /**
+     * Appends an element
+     * @param value element
+     */
+    public void add(final int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     *
+     * @param index position, below size
+     * @return the element at the position
+     */
+    public int get(final int index) {
+        return elements[index];
+    }
+
+    /**
+     *
+     * @param value element
+     * @return true if the list holds the element
+     */
+    public boolean contains(final int value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     *
+     * @return number of elements
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,101 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Set of non negative ints that remembers the insertion order.
+ * <p>
+ * The elements are kept twice: in an array, in insertion order, and in an open
+ * addressing table used for the membership checks, so both the lookups and the
+ * iteration in order are done without boxing.
+ */
+public final class IntOrderedSet {
+    /**
+     * Length of the array of a new set
+     */
+    private static final int INITIAL_CAPACITY = 4;
+    /**
+     * Multiplier spreading consecutive elements over the table
+     */
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+    /**
+     * Content of a free slot of the table
+     */
+    private static final int FREE = -1;
+    /**
+     * Elements, in insertion order, followed by unused room
+     */
+    private int[] elements = new int[INITIAL_CAPACITY];
+    /**
+     * Elements by hash, FREE in the empty slots; always twice as long as the array
+     */
+    private int[] table;
+    /**
+     * Number of elements
+     */
+    private int size;
+
+    public IntOrderedSet() {
+        table = new int[INITIAL_CAPACITY * 2];
+        Arrays.fill(table, FREE);
+    }
+
+    /**
+     *
+     * @param value element, at least 0
+     * @return true if the set holds the element
+     */
+    public boolean contains(final int value) {
+        return table[find(value)] != FREE;
+    }
+
+    /**
+     * Adds an element at the end of the order
+     * @param value element, at least 0
+     * @return true if the element was not in the set
+     */
+    public boolean add(final int value) {
+        int slot = find(value);
+        if (table[slot] != FREE) {
+            return false;
+        }
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+            table = new int[elements.length * 2];
+            Arrays.fill(table, FREE);
+            for (int i = 0; i < size; i++) {
+                table[find(elements[i])] = elements[i];
+            }
+            slot = find(value);
+        }
+        table[slot] = value;
+        elements[size++] = value;
+        return true;
+    }
+
+    /**
+     *
+     * @param index position in insertion order, below size
+     * @return the element at the position
+     */
+    public int get(final int index) {
+        return elements[index];
+    }
+
+    /**
+     *
+     * @return number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    private int find(final int value) {
+        int mask = table.length - 1;
+        int slot = value * HASH_MULTIPLIER & mask;
+        while (table[slot] != FREE && table[slot] != value) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,91 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Set of non negative longs, stored in one array with open addressing and linear
+ * probing, so that neither the elements nor the lookups allocate.
+ */
+public final class LongHashSet {
+    /**
+     * Number of slots of a new set, a power of two
+     */
+    private static final int INITIAL_CAPACITY = 8;
+    /**
+     * Multiplier spreading close elements over the table
+     */
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    /**
+     * Bits of the hash dropped before picking the slot
+     */
+    private static final int HASH_SHIFT = 32;
+    /**
+     * Content of a free slot
+     */
+    private static final long FREE = -1;
+    /**
+     * Element of every slot, FREE when empty
+     */
+    private long[] elements;
+    /**
+     * Number of elements
+     */
+    private int size;
+
+    public LongHashSet() {
+        elements = new long[INITIAL_CAPACITY];
+        Arrays.fill(elements, FREE);
+    }
+
+    /**
+     *
+     * @param value element, at least 0
+     * @return true if the set holds the element
+     */
+    public boolean contains(final long value) {
+        return elements[find(value)] != FREE;
+    }
+
+    /**
+     * Adds an element
+     * @param value element, at least 0
+     * @return true if the element was not in the set
+     */
+    public boolean add(final long value) {
+        int slot = find(value);
+        if (elements[slot] != FREE) {
+            return false;
+        }
+        if ((size + 1) * 2 > elements.length) {
+            long[] old = elements;
+            elements = new long[old.length * 2];
+            Arrays.fill(elements, FREE);
+            for (long element : old) {
+                if (element != FREE) {
+                    elements[find(element)] = element;
+                }
+            }
+            slot = find(value);
+        }
+        elements[slot] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     *
+     * @return number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    private int find(final long value) {
+        int mask = elements.length - 1;
+        int slot = (int) (value * HASH_MULTIPLIER >>> HASH_SHIFT) & mask;
+        while (elements[slot] != FREE && elements[slot] != value) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
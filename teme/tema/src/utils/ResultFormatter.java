@@ -0,0 +1,67 @@
+package utils;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Renders lists of names into result messages like "prefix[a, b, c]".
+ * <p>
+ * Every thread appends into its own buffer, which is reused from one result to the
+ * next, so a message is built with a single copy at the end.
+ */
+public final class ResultFormatter {
+    /**
+     * Initial capacity of the buffers
+     */
+    private static final int INITIAL_CAPACITY = 256;
+    /**
+     * Buffers grown past this capacity are not kept for the next results
+     */
+    private static final int MAX_KEPT_CAPACITY = 1 << 16;
+    /**
+     * Estimated length of a name, used to size the buffer up front
+     */
+    private static final int NAME_LENGTH = 16;
+    /**
+     * Buffer of every thread
+     */
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_CAPACITY));
+
+    /**
+     * for coding style
+     */
+    private ResultFormatter() {
+    }
+
+    /**
+     * @param <T> type of the elements
+     * @param prefix text written before the list
+     * @param items elements of the list
+     * @param name gives the name written for an element
+     * @param count maximum number of elements written
+     * @return the message
+     */
+    public static <T> String format(final String prefix, final List<T> items,
+                                    final Function<T, String> name, final int count) {
+        int size = Math.max(0, Math.min(count, items.size()));
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        buffer.ensureCapacity(prefix.length() + 2 + size * (NAME_LENGTH + 2));
+
+        buffer.append(prefix).append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                buffer.append(", ");
+            }
+            buffer.append(name.apply(items.get(i)));
+        }
+        buffer.append(']');
+
+        String result = buffer.toString();
+        if (buffer.capacity() > MAX_KEPT_CAPACITY) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,67 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Selects the first elements of a list in sorted order without sorting all of it.
+ * <p>
+ * The result is the same as sorting the list ascending with a stable sort,
+ * reversing it for a descending order and keeping the first elements.
+ */
+public final class TopK {
+    /**
+     * for coding style
+     */
+    private TopK() {
+    }
+
+    /**
+     * @param <T> type of the elements
+     * @param items elements to choose from, reordered when fully sorted
+     * @param comparator ascending order of the elements
+     * @param descending true for descending order
+     * @param limit number of elements wanted, 0 for all of them
+     * @return the first elements in the requested order; it may hold more than
+     * limit elements when the whole list was sorted
+     */
+    public static <T> List<T> select(final List<T> items, final Comparator<T> comparator,
+                                     final boolean descending, final int limit) {
+        if (limit <= 0 || limit >= items.size() - limit) {
+            items.sort(comparator);
+            if (descending) {
+                Collections.reverse(items);
+            }
+            return items;
+        }
+
+        /* reversing a stable sort puts equal elements in reverse input order */
+        Comparator<Integer> order = (i, j) -> {
+            int c = comparator.compare(items.get(i), items.get(j));
+            if (c == 0) {
+                c = Integer.compare(i, j);
+            }
+            return descending ? -c : c;
+        };
+
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.min(limit, items.size()) + 1,
+                order.reversed());
+        for (int i = 0; i < items.size(); i++) {
+            heap.add(i);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<Integer> positions = new ArrayList<>(heap);
+        positions.sort(order);
+        List<T> result = new ArrayList<>(positions.size());
+        for (int position : positions) {
+            result.add(items.get(position));
+        }
+        return result;
+    }
+}
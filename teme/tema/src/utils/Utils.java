@@ -7,6 +7,8 @@ import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.LinkedHashMap;
 
@@ -69,6 +71,37 @@ public final class Utils {
         };
     }
 
+    /**
+     * @param award for actors
+     * @return the bit standing for the award in an awards mask
+     */
+    public static int awardBit(final ActorsAwards award) {
+        return 1 << award.ordinal();
+    }
+
+    /**
+     * Transforms a list of award names into an awards mask
+     * @param awards names of the awards
+     * @return a mask with the bits of all the awards set
+     */
+    public static int awardsMask(final List<String> awards) {
+        int mask = 0;
+        for (String award : awards) {
+            mask |= awardBit(ActorsAwards.valueOf(award));
+        }
+        return mask;
+    }
+
+    /**
+     * Packs a rated title and season into one key, unique for every pair
+     * @param title title id
+     * @param season season number, 0 for a whole video
+     * @return the title in the high half and the season in the low half
+     */
+    public static long ratingKey(final int title, final int season) {
+        return (long) title << Integer.SIZE | season;
+    }
+
     /**
      * Transforms an array of JSON's into an array of strings
      * @param array of JSONs
@@ -92,17 +125,38 @@ public final class Utils {
      * @return a map with ActorsAwardsa as key and Integer as value
      */
     public static Map<ActorsAwards, Integer> convertAwards(final JSONArray jsonActors) {
-        Map<ActorsAwards, Integer> awards = new LinkedHashMap<>();
+        Map<ActorsAwards, Integer> awards = new EnumMap<>(ActorsAwards.class);
 
         for (Object iterator : jsonActors) {
-            awards.put(stringToAwards((String) ((JSONObject) iterator).get(Constants.AWARD_TYPE)),
-                    Integer.parseInt(((JSONObject) iterator).get(Constants.NUMBER_OF_AWARDS)
-                            .toString()));
+            ActorsAwards award = stringToAwards((String) ((JSONObject) iterator)
+                    .get(Constants.AWARD_TYPE));
+            if (award != null) {
+                awards.put(award, Integer.parseInt(((JSONObject) iterator)
+                        .get(Constants.NUMBER_OF_AWARDS).toString()));
+            }
         }
 
         return awards;
     }
 
+    /**
+     * Counts the awards of the types skipped by convertAwards; like the map they were
+     * kept in under a single null key, the last of them replaces the others
+     * @param jsonActors array of JSONs
+     * @return number of awards of the last unknown type, 0 if there is none
+     */
+    public static int otherAwards(final JSONArray jsonActors) {
+        int other = 0;
+        for (Object iterator : jsonActors) {
+            if (stringToAwards((String) ((JSONObject) iterator)
+                    .get(Constants.AWARD_TYPE)) == null) {
+                other = Integer.parseInt(((JSONObject) iterator)
+                        .get(Constants.NUMBER_OF_AWARDS).toString());
+            }
+        }
+        return other;
+    }
+
     /**
      * Transforms an array of JSON's into a map
      * @param movies array of JSONs